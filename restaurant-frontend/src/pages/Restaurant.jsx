@@ -77,8 +77,13 @@ function Restaurant() {
     try {
       setLoading(true);
       setError('');
-      const response = await axios.get(`/api/restaurants/name/${searchName}`);
-      setRestaurants([response.data]);
+      const response = await axios.get('/api/restaurants/search', {
+        params: { q: searchName }
+      });
+      if (response.data.length === 0) {
+        setError('Restaurant not found');
+      }
+      setRestaurants(response.data);
       setSearchMode('name');
       setLoading(false);
     } catch (err) {
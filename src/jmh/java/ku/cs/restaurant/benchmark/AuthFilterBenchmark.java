@@ -0,0 +1,118 @@
+package ku.cs.restaurant.benchmark;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import ku.cs.restaurant.monitoring.ServerTiming;
+import ku.cs.restaurant.repository.UserRepository;
+import ku.cs.restaurant.security.JwtCookieAuthFilter;
+import ku.cs.restaurant.security.JwtUtil;
+import ku.cs.restaurant.security.PrincipalCache;
+import ku.cs.restaurant.security.RateLimitFilter;
+import ku.cs.restaurant.service.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through JwtCookieAuthFilter (cookie lookup,
+ * JWT verify, session check, principal) with a stubbed user table, the
+ * rate-limit filter on its own, and a bare principal cache hit.
+ * The request, response and security context are built once: the filters
+ * leave the request as they found it (OncePerRequestFilter removes its
+ * marker attribute) and JwtCookieAuthFilter replaces the authentication on
+ * every call, so no per-invocation fixture is needed to distort the timings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthFilterBenchmark {
+
+	private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+	};
+
+	private JwtCookieAuthFilter jwtFilter;
+	private RateLimitFilter rateLimitFilter;
+	private PrincipalCache principalCache;
+	private CustomUserDetailsService userDetailsService;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+	private SecurityContext signedIn;
+
+	@Setup
+	public void setUp() {
+		UserRepository repository = AuthFixtures.stubUserRepository();
+		JwtUtil jwtUtil = AuthFixtures.jwtUtil(repository, 10_000);
+		userDetailsService = new CustomUserDetailsService(repository);
+		principalCache = new PrincipalCache(10_000, 60_000);
+
+		jwtFilter = new JwtCookieAuthFilter();
+		ReflectionTestUtils.setField(jwtFilter, "jwtUtils", jwtUtil);
+		ReflectionTestUtils.setField(jwtFilter, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(jwtFilter, "principalCache", principalCache);
+		// Server-Timing off, as in production: the instrumentation should cost nothing
+		ReflectionTestUtils.setField(jwtFilter, "serverTiming", new ServerTiming(false, true));
+
+		// Budgets large enough never to reject, so only the bookkeeping is measured
+		rateLimitFilter = new RateLimitFilter(true, 1_000_000_000, 1_000_000_000,
+				1_000_000_000, 1_000_000_000, 100_000);
+
+		String token = jwtUtil.generateToken(AuthFixtures.USERNAME, "Bench User", "ROLE_USER", 0);
+		request = new MockHttpServletRequest("GET", "/api/restaurants");
+		request.setCookies(new Cookie("token", token));
+		response = new MockHttpServletResponse();
+
+		UserDetails principal = userDetailsService.loadUserByUsername(AuthFixtures.USERNAME);
+		signedIn = SecurityContextHolder.createEmptyContext();
+		signedIn.setAuthentication(new UsernamePasswordAuthenticationToken(
+				principal, null, principal.getAuthorities()));
+	}
+
+	// The rate limit then keys by username, as it does behind JwtCookieAuthFilter
+	@Setup(Level.Iteration)
+	public void signIn() {
+		SecurityContextHolder.setContext(signedIn);
+	}
+
+	@TearDown(Level.Iteration)
+	public void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Benchmark
+	public Object jwtCookieFilter() throws Exception {
+		jwtFilter.doFilter(request, response, NO_OP_CHAIN);
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse rateLimitFilter() throws Exception {
+		rateLimitFilter.doFilter(request, response, NO_OP_CHAIN);
+		return response;
+	}
+
+	@Benchmark
+	public UserDetails principalCacheHit() {
+		return principalCache.get(AuthFixtures.USERNAME, userDetailsService::loadUserByUsername);
+	}
+}
@@ -0,0 +1,51 @@
+package ku.cs.restaurant.benchmark;
+
+import ku.cs.restaurant.entity.User;
+import ku.cs.restaurant.repository.UserRepository;
+import ku.cs.restaurant.security.InMemoryTokenStore;
+import ku.cs.restaurant.security.JwtUtil;
+import ku.cs.restaurant.security.SessionEpochs;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtUtil and its collaborators wired by hand, with the user table replaced
+ * by a stub, so auth benchmarks measure our code rather than a database.
+ */
+final class AuthFixtures {
+
+	static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+	static final String USERNAME = "bench-user";
+
+	private AuthFixtures() {
+	}
+
+	static UserRepository stubUserRepository() {
+		User user = new User();
+		user.setUsername(USERNAME);
+		user.setName("Bench User");
+		user.setPassword("unused");
+		user.setRole("ROLE_USER");
+		user.setCreatedAt(Instant.now());
+
+		UserRepository repository = mock(UserRepository.class);
+		when(repository.findByUsername(anyString())).thenReturn(user);
+		when(repository.findSessionEpochByUsername(anyString())).thenReturn(0L);
+		return repository;
+	}
+
+	static JwtUtil jwtUtil(UserRepository repository, int claimsCacheSize) {
+		JwtUtil jwtUtil = new JwtUtil(new InMemoryTokenStore(1_000_000),
+				new SessionEpochs(repository, 10_000, 60_000));
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000);
+		ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", claimsCacheSize);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+}
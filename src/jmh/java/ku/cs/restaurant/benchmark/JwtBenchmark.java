@@ -0,0 +1,84 @@
+package ku.cs.restaurant.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import ku.cs.restaurant.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification. "Cached" verifies a token seen before
+ * (claims cache hit); "uncached" rotates through more tokens than the cache
+ * holds, so every call parses and checks the signature. "baseline" is the
+ * filter path before the shared parser and claims cache: a new parser per
+ * call, once to validate and again to read the subject.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+	private static final int TOKENS = 1024;
+
+	private JwtUtil jwtUtil;
+	private JwtUtil uncachedJwtUtil;
+	private SecretKey key;
+	private String token;
+	private String[] tokens;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = AuthFixtures.jwtUtil(AuthFixtures.stubUserRepository(), 10_000);
+		uncachedJwtUtil = AuthFixtures.jwtUtil(AuthFixtures.stubUserRepository(), 1);
+		key = Keys.hmacShaKeyFor(AuthFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+		token = jwtUtil.generateToken(AuthFixtures.USERNAME, "Bench User", "ROLE_USER", 0);
+		tokens = new String[TOKENS];
+		for (int i = 0; i < TOKENS; i++)
+			tokens[i] = uncachedJwtUtil.generateToken(AuthFixtures.USERNAME + i, "Bench User", "ROLE_USER", 0);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtil.generateToken(AuthFixtures.USERNAME, "Bench User", "ROLE_USER", 0);
+	}
+
+	// Verify then parse again for the subject, as the filters did before
+	@Benchmark
+	public String baseline() {
+		Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+		return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+	}
+
+	@Benchmark
+	public Claims verifyCached() {
+		return jwtUtil.verify(token);
+	}
+
+	@Benchmark
+	public Claims verifyUncached() {
+		next = (next + 1) & (TOKENS - 1);
+		return uncachedJwtUtil.verify(tokens[next]);
+	}
+
+	@Benchmark
+	public boolean validateJwtToken() {
+		return jwtUtil.validateJwtToken(token);
+	}
+}
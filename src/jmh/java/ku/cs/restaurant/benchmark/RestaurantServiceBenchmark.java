@@ -0,0 +1,182 @@
+package ku.cs.restaurant.benchmark;
+
+import ku.cs.restaurant.RestaurantApplication;
+import ku.cs.restaurant.dto.BatchImportResult;
+import ku.cs.restaurant.dto.NearbyRestaurant;
+import ku.cs.restaurant.dto.RestaurantLookup;
+import ku.cs.restaurant.dto.RestaurantRequest;
+import ku.cs.restaurant.dto.RestaurantSlice;
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import ku.cs.restaurant.service.RestaurantImportService;
+import ku.cs.restaurant.service.RestaurantService;
+import ku.cs.restaurant.service.RestaurantSortField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service-layer read and write paths against the test profile's in-memory
+ * H2, seeded with {@link #ROWS} restaurants through the bulk import.
+ * Offset and keyset paging are compared at the row offsets in
+ * {@link Paging#offset}; ROWS leaves a full page past the deepest one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestaurantServiceBenchmark {
+
+	private static final int ROWS = 110_000;
+	private static final int PAGE_SIZE = 20;
+	private static final int BATCH = 500;
+
+	private final AtomicLong nameSequence = new AtomicLong();
+
+	private ConfigurableApplicationContext context;
+	private RestaurantService service;
+	private RestaurantImportService importService;
+	private RestaurantRepository repository;
+	private UUID id;
+	private List<UUID> ids;
+
+	// Separate state so only the paging benchmarks are repeated per offset
+	@State(Scope.Benchmark)
+	public static class Paging {
+
+		@Param({"0", "1000", "100000"})
+		int offset;
+
+		PageRequest pageRequest;
+		String cursor;
+
+		@Setup
+		public void setUp(RestaurantServiceBenchmark benchmark) {
+			pageRequest = PageRequest.of(offset / PAGE_SIZE, PAGE_SIZE, Sort.by("name"));
+			// One scroll of `offset` rows gives the cursor a client would hold at that depth
+			cursor = offset == 0 ? null
+					: benchmark.service.scrollRestaurants(RestaurantSortField.NAME, offset, null).getNextCursor();
+		}
+	}
+
+	@Setup
+	public void setUp() throws IOException {
+		context = new SpringApplicationBuilder(RestaurantApplication.class)
+				.profiles("test")
+				// Arguments rather than default properties, so they win over application.properties
+				.run("--jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret",
+						"--google.clientId=benchmark",
+						"--server.port=0",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN");
+		service = context.getBean(RestaurantService.class);
+		importService = context.getBean(RestaurantImportService.class);
+		repository = context.getBean(RestaurantRepository.class);
+
+		importService.importRestaurants(ndjson("seed", ROWS));
+
+		ids = new ArrayList<>();
+		for (Restaurant restaurant : repository.findAll(PageRequest.of(0, 100, Sort.by("id"))))
+			ids.add(restaurant.getId());
+		id = ids.get(0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Restaurant getByIdCached() {
+		return service.getRestaurantById(id);
+	}
+
+	// Same lookup without the restaurant cache in front of it
+	@Benchmark
+	public Optional<Restaurant> getByIdUncached() {
+		return repository.findById(id);
+	}
+
+	@Benchmark
+	public RestaurantLookup multiGet100() {
+		return service.getRestaurantsById(ids);
+	}
+
+	@Benchmark
+	public Page<Restaurant> offsetPage(Paging paging) {
+		return service.getRestaurantsPage(paging.pageRequest);
+	}
+
+	@Benchmark
+	public RestaurantSlice keysetPage(Paging paging) {
+		return service.scrollRestaurants(RestaurantSortField.NAME, PAGE_SIZE, paging.cursor);
+	}
+
+	@Benchmark
+	public List<Restaurant> search() {
+		return service.search("seed 42", 20);
+	}
+
+	@Benchmark
+	public List<NearbyRestaurant> nearby() {
+		return service.nearby(13.75, 100.5, 5, 20);
+	}
+
+	// Per-row cost of the chunked import versus one create call per row
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public BatchImportResult batchImport() throws IOException {
+		return importService.importRestaurants(ndjson("batch-" + nameSequence.incrementAndGet(), BATCH));
+	}
+
+	@Benchmark
+	public Restaurant singleCreate() {
+		RestaurantRequest request = new RestaurantRequest();
+		request.setName("single-" + nameSequence.incrementAndGet());
+		request.setRating(4);
+		request.setLocation("Bangkok");
+		request.setLatitude(13.75);
+		request.setLongitude(100.5);
+		return service.create(request);
+	}
+
+	private static ByteArrayInputStream ndjson(String prefix, int rows) {
+		StringBuilder body = new StringBuilder(rows * 120);
+		for (int i = 0; i < rows; i++) {
+			body.append("{\"name\":\"").append(prefix).append(' ').append(i)
+					.append("\",\"rating\":").append(1 + i % 5)
+					.append(",\"location\":\"Zone ").append(i % 50)
+					.append("\",\"latitude\":").append(13.5 + (i % 100) * 0.005)
+					.append(",\"longitude\":").append(100.3 + (i / 100) * 0.005)
+					.append("}\n");
+		}
+		return new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,85 @@
+package ku.cs.restaurant.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ku.cs.restaurant.entity.Restaurant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of turning one 20-row page into response bytes, the work the page
+ * response cache saves on a hit, with and without gzip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	private ObjectMapper objectMapper;
+	private PagedModel<Restaurant> page;
+	private Restaurant restaurant;
+
+	@Setup
+	public void setUp() {
+		// Same defaults as the mapper Spring Boot configures
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+		List<Restaurant> rows = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			Restaurant row = new Restaurant();
+			row.setId(UUID.randomUUID());
+			row.setName("Restaurant " + i);
+			row.setRating(1 + i % 5);
+			row.setLocation("Zone " + i);
+			row.setLatitude(13.75 + i * 0.001);
+			row.setLongitude(100.5 + i * 0.001);
+			row.setCreatedAt(Instant.now());
+			row.setUpdatedAt(Instant.now());
+			rows.add(row);
+		}
+		page = new PagedModel<>(new PageImpl<>(rows, PageRequest.of(0, 20), 10_000));
+		restaurant = rows.get(0);
+	}
+
+	@Benchmark
+	public byte[] restaurant() throws IOException {
+		return objectMapper.writeValueAsBytes(restaurant);
+	}
+
+	@Benchmark
+	public byte[] page() throws IOException {
+		return objectMapper.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public byte[] pageGzip() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			objectMapper.writeValue(gzip, page);
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,174 @@
+package ku.cs.restaurant.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded in-memory cache with time-to-live eviction.
+ * Keeps hit, miss and eviction counters so callers can report them.
+ */
+public class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Bumped on every invalidation, so a load that raced with a write is never kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public ExpiringCache(int maxSize, long ttlMs) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    // Get a live entry, or null when absent or expired
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(key, entry))
+                evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Get a live entry, loading and caching it on a miss. Null results are not cached.
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        return getOrLoad(key, loader, value -> Long.MAX_VALUE);
+    }
+
+    // Same, with a per-value lifetime (capped by the cache default)
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader, ToLongFunction<? super V> ttlMs) {
+        V value = get(key);
+        if (value != null)
+            return value;
+
+        long loadedAt = generation.get();
+        value = loader.apply(key);
+        if (value != null && generation.get() == loadedAt) {
+            long ttl = Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(ttlMs.applyAsLong(value)));
+            Entry<V> entry = store(key, value, ttl);
+            // An invalidation slipped in after the check above; drop what we just stored
+            if (generation.get() != loadedAt)
+                entries.remove(key, entry);
+        }
+        return value;
+    }
+
+    // Bulk form of getOrLoad: all misses are loaded with one loader call.
+    // Keys the loader leaves out of its result are left out of the returned map.
+    public Map<K, V> getAllOrLoad(Collection<? extends K> keys, Function<Set<K>, Map<K, V>> loader,
+                                  ToLongFunction<? super V> ttlMs) {
+        Map<K, V> found = new HashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null)
+                found.put(key, value);
+            else
+                missing.add(key);
+        }
+        if (missing.isEmpty())
+            return found;
+
+        long loadedAt = generation.get();
+        Map<K, V> loaded = loader.apply(missing);
+        for (Map.Entry<K, V> loadedEntry : loaded.entrySet()) {
+            V value = loadedEntry.getValue();
+            if (value == null)
+                continue;
+            found.put(loadedEntry.getKey(), value);
+            if (generation.get() == loadedAt) {
+                long ttl = Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(ttlMs.applyAsLong(value)));
+                Entry<V> entry = store(loadedEntry.getKey(), value, ttl);
+                if (generation.get() != loadedAt)
+                    entries.remove(loadedEntry.getKey(), entry);
+            }
+        }
+        return found;
+    }
+
+    public void put(K key, V value) {
+        store(key, value, ttlNanos);
+    }
+
+    // Put with a shorter lifetime than the cache default (never longer)
+    public void put(K key, V value, long ttlMs) {
+        store(key, value, Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private Entry<V> store(K key, V value, long ttl) {
+        if (entries.size() >= maxSize && !entries.containsKey(key))
+            makeRoom();
+        Entry<V> entry = new Entry<>(value, System.nanoTime() + ttl);
+        entries.put(key, entry);
+        return entry;
+    }
+
+    // Drop expired entries first; if still full, drop an arbitrary eighth of the cache
+    private void makeRoom() {
+        long now = System.nanoTime();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAt - now <= 0 && entries.remove(key, entry))
+                evictions.increment();
+        });
+
+        int toDrop = entries.size() - maxSize + Math.max(1, maxSize / 8);
+        Iterator<K> keys = entries.keySet().iterator();
+        while (toDrop > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+            toDrop--;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ku.cs.restaurant.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ku.cs.restaurant.monitoring.ServerTiming;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.web.PagedModel;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of fully serialized page responses (and their gzip form), so a
+ * repeated list request is answered by copying bytes instead of running
+ * the select, the count and Jackson again.
+ * Callers key entries by catalog version and query parameters, so a write
+ * simply makes older entries unreachable until they age out.
+ */
+@Component
+public class PageResponseCache {
+
+    public record SerializedPage(byte[] json, byte[] gzip) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ExpiringCache<String, SerializedPage> pages;
+    private final boolean pregzip;
+    private final ServerTiming serverTiming;
+
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public PageResponseCache(ObjectMapper objectMapper,
+                             @Value("${restaurant.page-cache.max-size:256}") int maxSize,
+                             @Value("${restaurant.page-cache.ttl:60000}") long ttlMs,
+                             @Value("${restaurant.page-cache.gzip:true}") boolean pregzip,
+                             ServerTiming serverTiming) {
+        this.objectMapper = objectMapper;
+        this.serverTiming = serverTiming;
+        this.pages = new ExpiringCache<>(maxSize, ttlMs);
+        this.pregzip = pregzip;
+    }
+
+    // Serialized page for the key, running the query and Jackson only on a miss
+    public SerializedPage get(String key, Supplier<Page<?>> loader) {
+        SerializedPage page = pages.get(key);
+        if (page != null) {
+            bytesSaved.add(page.json().length);
+            return page;
+        }
+        page = serialize(loader.get());
+        pages.put(key, page);
+        return page;
+    }
+
+    // Record bytes not sent because the gzip form was used
+    public void recordGzipSaving(SerializedPage page) {
+        bytesSaved.add(page.json().length - page.gzip().length);
+    }
+
+    public ExpiringCache<String, SerializedPage> getPages() {
+        return pages;
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    private SerializedPage serialize(Page<?> page) {
+        // Lists are written here rather than by the message converter, so time it as serialization
+        long startedAt = serverTiming.start();
+        try {
+            // Same shape as the VIA_DTO page serialization set up in JacksonConfig
+            byte[] json = objectMapper.writeValueAsBytes(new PagedModel<>(page));
+            return new SerializedPage(json, pregzip ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize page", e);
+        } finally {
+            serverTiming.stop(ServerTiming.Phase.SERIALIZATION, startedAt);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
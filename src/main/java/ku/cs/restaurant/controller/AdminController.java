@@ -0,0 +1,68 @@
+package ku.cs.restaurant.controller;
+
+import ku.cs.restaurant.cache.PageResponseCache;
+import ku.cs.restaurant.dto.CacheStats;
+import ku.cs.restaurant.dto.PasswordHashingStats;
+import ku.cs.restaurant.dto.VirtualThreadStats;
+import ku.cs.restaurant.monitoring.VirtualThreadPinningMonitor;
+import ku.cs.restaurant.security.BoundedPasswordEncoder;
+import ku.cs.restaurant.security.PrincipalCache;
+import ku.cs.restaurant.service.RestaurantCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final PrincipalCache principalCache;
+    private final RestaurantCache restaurantCache;
+    private final PageResponseCache pageCache;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @Autowired
+    public AdminController(PrincipalCache principalCache, RestaurantCache restaurantCache,
+                           PageResponseCache pageCache, BoundedPasswordEncoder passwordEncoder,
+                           ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        this.principalCache = principalCache;
+        this.restaurantCache = restaurantCache;
+        this.pageCache = pageCache;
+        this.passwordEncoder = passwordEncoder;
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    // Pinning report; the monitor only exists in virtual-thread mode
+    @GetMapping("/virtual-threads")
+    public VirtualThreadStats getVirtualThreadStats() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor == null)
+            return new VirtualThreadStats(false, 0, 0, 0, Map.of());
+        return new VirtualThreadStats(true, monitor.getEvents(), monitor.getTotalPinnedMs(),
+                monitor.getMaxPinnedMs(), monitor.getSites());
+    }
+
+    @GetMapping("/password-hashing")
+    public PasswordHashingStats getPasswordHashingStats() {
+        return PasswordHashingStats.of(passwordEncoder);
+    }
+
+    @GetMapping("/caches")
+    public List<CacheStats> getCacheStats() {
+        CacheStats pages = CacheStats.of("restaurant.pages", pageCache.getPages());
+        pages.setBytesSaved(pageCache.getBytesSaved());
+        return List.of(
+                CacheStats.of("principal", principalCache.size(), principalCache.getHits(),
+                        principalCache.getMisses(), principalCache.getEvictions()),
+                CacheStats.of("restaurant.byId", restaurantCache.getByIdCache()),
+                CacheStats.of("restaurant.byName", restaurantCache.getByNameCache()),
+                pages
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package ku.cs.restaurant.controller;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -9,10 +10,12 @@ import ku.cs.restaurant.dto.LoginRequest;
 import ku.cs.restaurant.dto.SignupRequest;
 import ku.cs.restaurant.dto.UserInfoResponse;
 import ku.cs.restaurant.entity.User;
+import ku.cs.restaurant.security.AuthenticatedUser;
+import ku.cs.restaurant.security.GoogleTokenVerifier;
 import ku.cs.restaurant.security.JwtUtil;
+import ku.cs.restaurant.security.LoginThrottle;
 import ku.cs.restaurant.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -25,37 +28,40 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
-import java.util.Collections;
 import java.util.Map;
 
 
 @RestController
 @RequestMapping("/api/auth")
+@Timed("restaurant.controller")
 public class AuthenticationController {
 
     private UserService userService;
     private AuthenticationManager authenticationManager;
     private JwtUtil jwtUtils;
-
-    @Value("${google.clientId}")
-    private String googleClientId;
+    private LoginThrottle loginThrottle;
+    private GoogleTokenVerifier googleTokenVerifier;
 
     @Autowired
     public AuthenticationController(UserService userService,
-                                    AuthenticationManager authenticationManager, JwtUtil jwtUtils) {
+                                    AuthenticationManager authenticationManager, JwtUtil jwtUtils,
+                                    LoginThrottle loginThrottle, GoogleTokenVerifier googleTokenVerifier) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
+        this.loginThrottle = loginThrottle;
+        this.googleTokenVerifier = googleTokenVerifier;
     }
 
     @PostMapping("/login")
     public ResponseEntity<String> authenticateUser(
             @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
             HttpServletResponse response) {
 
+        // Throttled attempts are turned away before any hashing or queries
+        loginThrottle.acquire(request.getUsername(), httpRequest.getRemoteAddr());
+
         Authentication authentication =
                 authenticationManager.authenticate(
                         new UsernamePasswordAuthenticationToken(
@@ -63,11 +69,12 @@ public class AuthenticationController {
                                 request.getPassword()
                         )
                 );
-        UserDetails userDetails =
-                (UserDetails) authentication.getPrincipal();
+        AuthenticatedUser userDetails =
+                (AuthenticatedUser) authentication.getPrincipal();
+        loginThrottle.onSuccess(request.getUsername());
 
         // Generate JWT token
-        String jwt = jwtUtils.generateToken(userDetails.getUsername());
+        String jwt = jwtUtils.generateToken(userDetails);
 
         // Create HttpOnly cookie
         ResponseCookie cookie = ResponseCookie.from("token", jwt)
@@ -100,8 +107,10 @@ public class AuthenticationController {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String username = userDetails.getUsername();
 
-        // Get user from database to fetch name and role
-        User user = userService.findByUsername(username);
+        // Name comes with the principal; only fall back to the database for other principal types
+        String name = (userDetails instanceof AuthenticatedUser user)
+                ? user.getName()
+                : userService.findByUsername(username).getName();
 
         // Extract role (remove ROLE_ prefix if present for cleaner frontend usage)
         String role = userDetails.getAuthorities().stream()
@@ -109,7 +118,7 @@ public class AuthenticationController {
                 .map(GrantedAuthority::getAuthority)
                 .orElse("");
 
-        UserInfoResponse response = new UserInfoResponse(username, user.getName(), role);
+        UserInfoResponse response = new UserInfoResponse(username, name, role);
         return ResponseEntity.ok(response);
     }
 
@@ -142,18 +151,34 @@ public class AuthenticationController {
         return ResponseEntity.ok("Logout successful");
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<String> logoutEverywhere(Authentication authentication, HttpServletResponse response) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        // Bumping the session epoch invalidates every token issued to this user
+        userService.logoutEverywhere(authentication.getName());
+
+        ResponseCookie cookieToDelete = ResponseCookie.from("token", "")
+                .path("/")
+                .maxAge(0)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookieToDelete.toString());
+
+        return ResponseEntity.ok("Logged out from all sessions");
+    }
+
     @PostMapping("/google")
     public ResponseEntity<?> authenticateWithGoogle(
             @RequestBody GoogleAuthRequest request,
             HttpServletResponse response) {
         try {
-            // Verify Google ID token
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(), new GsonFactory())
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
-
-            GoogleIdToken idToken = verifier.verify(request.getCredential());
+            // Verify Google ID token (shared verifier, cached signing keys)
+            GoogleIdToken idToken = googleTokenVerifier.verify(request.getCredential());
             if (idToken == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error", "Invalid Google ID token"));
@@ -168,7 +193,8 @@ public class AuthenticationController {
             User user = userService.findOrCreateGoogleUser(email, name);
 
             // Generate JWT token
-            String jwt = jwtUtils.generateToken(user.getUsername());
+            String jwt = jwtUtils.generateToken(
+                    user.getUsername(), user.getName(), user.getRole(), user.getSessionEpoch());
 
             // Set HttpOnly cookie
             ResponseCookie cookie = ResponseCookie.from("token", jwt)
@@ -1,50 +1,164 @@
 package ku.cs.restaurant.controller;
 
+import io.micrometer.core.annotation.Timed;
+import ku.cs.restaurant.cache.PageResponseCache;
+import ku.cs.restaurant.cache.PageResponseCache.SerializedPage;
+import ku.cs.restaurant.dto.BatchImportResult;
+import ku.cs.restaurant.dto.NearbyRestaurant;
+import ku.cs.restaurant.dto.RestaurantLookup;
+import ku.cs.restaurant.dto.RestaurantLookupRequest;
+import ku.cs.restaurant.dto.RestaurantPatchRequest;
 import ku.cs.restaurant.dto.RestaurantRequest;
+import ku.cs.restaurant.dto.RestaurantSlice;
 import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.service.CatalogVersion;
+import ku.cs.restaurant.service.RestaurantExportFormat;
+import ku.cs.restaurant.service.RestaurantExportService;
+import ku.cs.restaurant.service.RestaurantImportService;
 import ku.cs.restaurant.service.RestaurantService;
+import ku.cs.restaurant.service.RestaurantSortField;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.util.StringUtils;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api")
+@Timed("restaurant.controller")
 public class RestaurantController {
 
+    // Clients may keep responses but must revalidate them on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Largest page GET /api/restaurants serves; larger requests get this many
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RestaurantService service;
+    private final CatalogVersion catalogVersion;
+    private final PageResponseCache pageCache;
+    private final RestaurantImportService importService;
+    private final RestaurantExportService exportService;
 
     @Autowired
-    public RestaurantController(RestaurantService service) {
+    public RestaurantController(RestaurantService service, CatalogVersion catalogVersion,
+                                PageResponseCache pageCache, RestaurantImportService importService,
+                                RestaurantExportService exportService) {
         this.service = service;
+        this.catalogVersion = catalogVersion;
+        this.pageCache = pageCache;
+        this.importService = importService;
+        this.exportService = exportService;
     }
 
     @GetMapping("/restaurants")
-    public Page<Restaurant> getAllRestaurants(
+    public ResponseEntity<byte[]> getAllRestaurants(
             @RequestParam(value = "offset", required = false) Integer offset,
             @RequestParam(value = "pageSize", required = false) Integer pageSize,
-            @RequestParam(value = "sortBy", required = false) String sortBy) {
+            @RequestParam(value = "sortBy", required = false) String sortBy,
+            WebRequest request) {
         if(null == offset) offset = 0;
         if(null == pageSize) pageSize = 10;
         if(StringUtils.isEmpty(sortBy)) sortBy ="name";
-        return service.getRestaurantsPage(PageRequest.of(offset, pageSize, Sort.by(sortBy)));
+        RestaurantSortField sortField = RestaurantSortField.fromProperty(sortBy);
+        // Pages are cached by count, not bytes, so the size of one page is capped
+        offset = Math.max(offset, 0);
+        pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+
+        // Answer 304 from the catalog version alone, before any query runs
+        String eTag = catalogVersion.eTag(catalogVersion.current(), offset, pageSize, sortField.getProperty());
+        long lastModified = catalogVersion.lastModifiedMs();
+        if (request.checkNotModified(eTag, lastModified))
+            return null;
+
+        // Serve pre-serialized bytes; the ETag already identifies version and query
+        PageRequest pageRequest = PageRequest.of(offset, pageSize, sortField.toSort());
+        SerializedPage page = pageCache.get(eTag, () -> service.getRestaurantsPage(pageRequest));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (page.gzip() != null && acceptsGzip(request)) {
+            pageCache.recordGzipSaving(page);
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
+    }
+
+
+    // Multi-get: GET /api/restaurants?ids=a,b,c
+    @GetMapping(value = "/restaurants", params = "ids")
+    public RestaurantLookup getRestaurantsById(@RequestParam("ids") List<UUID> ids) {
+        return service.getRestaurantsById(ids);
+    }
+
+    // Same lookup for id lists too long for a query string
+    @PostMapping("/restaurants/lookup")
+    public RestaurantLookup lookupRestaurants(@Valid @RequestBody RestaurantLookupRequest request) {
+        return service.getRestaurantsById(request.getIds());
     }
 
 
+    @GetMapping("/restaurants/scroll")
+    public RestaurantSlice scrollRestaurants(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "sortBy", required = false) String sortBy) {
+        if(null == pageSize) pageSize = 10;
+        if(StringUtils.isEmpty(sortBy)) sortBy ="name";
+        return service.scrollRestaurants(RestaurantSortField.fromProperty(sortBy), pageSize, cursor);
+    }
+
     @PostMapping("/restaurants")
     public Restaurant create(@Valid @RequestBody RestaurantRequest restaurant) {
         return service.create(restaurant);
     }
 
+    // Bulk import from a JSON array or newline-delimited JSON, with per-row errors
+    @PostMapping(value = "/restaurants/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public BatchImportResult importRestaurants(InputStream body) throws IOException {
+        return importService.importRestaurants(body);
+    }
+
+    // Whole catalog as NDJSON or CSV, written to the response as rows are read
+    @GetMapping("/restaurants/export")
+    public void export(@RequestParam(value = "format", required = false) String format,
+                       HttpServletResponse response) throws IOException {
+        RestaurantExportFormat exportFormat = RestaurantExportFormat.fromExtension(
+                StringUtils.hasText(format) ? format : RestaurantExportFormat.NDJSON.getExtension());
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("restaurants." + exportFormat.getExtension()).build().toString());
+        exportService.export(exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/restaurants/{id}")
-    public  Restaurant getRestaurantById(@PathVariable UUID id) {
-        return service.getRestaurantById(id);
+    public ResponseEntity<Restaurant> getRestaurantById(@PathVariable UUID id) {
+        // Served from the entity cache; on a matching If-None-Match or
+        // If-Modified-Since Spring answers 304 without serializing the body
+        Restaurant restaurant = service.getRestaurantById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTagOf(restaurant))
+                .cacheControl(REVALIDATE);
+        if (restaurant.getUpdatedAt() != null)
+            response.lastModified(restaurant.getUpdatedAt());
+        return response.body(restaurant);
     }
 
     @PutMapping("/restaurants")
@@ -52,6 +166,12 @@ public class RestaurantController {
         return service.update(restaurant);
     }
 
+    // Partial update; 409 when the supplied version is no longer current
+    @PatchMapping("/restaurants/{id}")
+    public Restaurant patch(@PathVariable UUID id, @Valid @RequestBody RestaurantPatchRequest request) {
+        return service.patch(id, request);
+    }
+
     @DeleteMapping("/restaurants/{id}")
     public Restaurant delete(@PathVariable UUID id) {
         return service.delete(id);
@@ -62,8 +182,41 @@ public class RestaurantController {
         return service.getRestaurantByName(name);
     }
 
+    @GetMapping("/restaurants/search")
+    public List<Restaurant> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if(null == limit) limit = 10;
+        return service.search(query, Math.min(Math.max(limit, 1), 50));
+    }
+
+    @GetMapping("/restaurants/nearby")
+    public List<NearbyRestaurant> nearby(
+            @RequestParam("lat") double lat,
+            @RequestParam("lon") double lon,
+            @RequestParam(value = "radius", required = false) Double radius,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if(null == radius) radius = 5.0;
+        if(null == limit) limit = 10;
+        if (!(lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180 && radius > 0))
+            throw new IllegalArgumentException("Invalid coordinates or radius");
+        return service.nearby(lat, lon, Math.min(radius, 100.0), Math.min(Math.max(limit, 1), 50));
+    }
+
     @GetMapping("/restaurants/location/{location}")
     public List<Restaurant> getRestaurantByLocation(@PathVariable String location) {
         return service.getRestaurantByLocation(location);
     }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    // Strong ETag from id and last update time
+    private static String eTagOf(Restaurant restaurant) {
+        Instant updatedAt = restaurant.getUpdatedAt();
+        String version = updatedAt == null ? "0" : updatedAt.getEpochSecond() + "." + updatedAt.getNano();
+        return "\"r-" + restaurant.getId() + "-" + version + "\"";
+    }
 }
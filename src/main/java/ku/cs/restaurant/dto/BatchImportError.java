@@ -0,0 +1,15 @@
+package ku.cs.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchImportError {
+    // Zero-based position of the row in the request body
+    private int index;
+    private String name;
+    private String message;
+}
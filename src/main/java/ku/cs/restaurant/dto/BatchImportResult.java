@@ -0,0 +1,22 @@
+package ku.cs.restaurant.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BatchImportResult {
+    private int imported;
+    private int failed;
+    private List<BatchImportError> errors = new ArrayList<>();
+
+    public void addError(int index, String name, String message) {
+        failed++;
+        errors.add(new BatchImportError(index, name, message));
+    }
+
+    public void addImported(int count) {
+        imported += count;
+    }
+}
@@ -0,0 +1,29 @@
+package ku.cs.restaurant.dto;
+
+import ku.cs.restaurant.cache.ExpiringCache;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStats {
+    private String name;
+    private int size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRatio;
+    private long bytesSaved;
+
+    public static CacheStats of(String name, int size, long hits, long misses, long evictions) {
+        long lookups = hits + misses;
+        return new CacheStats(name, size, hits, misses, evictions,
+                lookups == 0 ? 0 : (double) hits / lookups, 0);
+    }
+
+    public static CacheStats of(String name, ExpiringCache<?, ?> cache) {
+        return of(name, cache.size(), cache.getHits(), cache.getMisses(), cache.getEvictions());
+    }
+}
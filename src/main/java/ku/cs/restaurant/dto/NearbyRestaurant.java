@@ -0,0 +1,14 @@
+package ku.cs.restaurant.dto;
+
+import ku.cs.restaurant.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyRestaurant {
+    private Restaurant restaurant;
+    private double distanceKm;
+}
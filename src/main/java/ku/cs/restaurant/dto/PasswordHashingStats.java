@@ -0,0 +1,28 @@
+package ku.cs.restaurant.dto;
+
+import ku.cs.restaurant.security.BoundedPasswordEncoder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordHashingStats {
+    private int threads;
+    private int active;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private long timedOut;
+    private double averageQueueMs;
+    private double averageHashMs;
+    private double maxLatencyMs;
+
+    public static PasswordHashingStats of(BoundedPasswordEncoder encoder) {
+        return new PasswordHashingStats(encoder.getThreads(), encoder.getActive(), encoder.getQueueDepth(),
+                encoder.getQueueCapacity(), encoder.getCompleted(), encoder.getRejected(), encoder.getTimedOut(),
+                encoder.getAverageQueueMs(), encoder.getAverageHashMs(), encoder.getMaxLatencyMs());
+    }
+}
@@ -0,0 +1,18 @@
+package ku.cs.restaurant.dto;
+
+import ku.cs.restaurant.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantLookup {
+    // In the order the ids were requested
+    private List<Restaurant> restaurants;
+    private List<UUID> missing;
+}
@@ -0,0 +1,18 @@
+package ku.cs.restaurant.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Setter
+@Getter
+public class RestaurantLookupRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 500, message = "At most 500 ids per lookup")
+    private List<UUID> ids;
+}
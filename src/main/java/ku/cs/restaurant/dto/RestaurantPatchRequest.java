@@ -0,0 +1,38 @@
+package ku.cs.restaurant.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+// Fields left out (null) keep their current value
+@Setter
+@Getter
+public class RestaurantPatchRequest {
+
+    // The version the client last read; the patch fails with 409 if it moved on
+    @NotNull(message = "Version is mandatory")
+    private Long version;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Name cannot be blank")
+    private String name;
+
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating cannot exceed 5")
+    private Double rating;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Location cannot be blank")
+    private String location;
+
+    @DecimalMin(value = "-90", message = "Latitude must be at least -90")
+    @DecimalMax(value = "90", message = "Latitude cannot exceed 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180", message = "Longitude must be at least -180")
+    @DecimalMax(value = "180", message = "Longitude cannot exceed 180")
+    private Double longitude;
+}
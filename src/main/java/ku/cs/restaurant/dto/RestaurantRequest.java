@@ -1,5 +1,7 @@
 package ku.cs.restaurant.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -21,5 +23,13 @@ public class RestaurantRequest {
     @NotBlank(message = "Location is mandatory")
     private String location;
 
+    @DecimalMin(value = "-90", message = "Latitude must be at least -90")
+    @DecimalMax(value = "90", message = "Latitude cannot exceed 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180", message = "Longitude must be at least -180")
+    @DecimalMax(value = "180", message = "Longitude cannot exceed 180")
+    private Double longitude;
+
 
 }
\ No newline at end of file
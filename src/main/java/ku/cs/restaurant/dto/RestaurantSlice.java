@@ -0,0 +1,17 @@
+package ku.cs.restaurant.dto;
+
+import ku.cs.restaurant.entity.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RestaurantSlice {
+    private List<Restaurant> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,19 @@
+package ku.cs.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VirtualThreadStats {
+    private boolean enabled;
+    private long pinnedEvents;
+    private double totalPinnedMs;
+    private double maxPinnedMs;
+    // Pinning site (first non-JDK frame) -> events
+    private Map<String, Long> sites;
+}
@@ -0,0 +1,23 @@
+package ku.cs.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Live login session for JdbcTokenStore. Mapped here so the table and its
+// index come from the same schema management as the other entities; the
+// store itself reads and writes it with plain JDBC.
+@Data
+@Entity
+@Table(
+        name = "auth_token",
+        indexes = @Index(name = "idx_auth_token_expires_at", columnList = "expires_at")
+)
+public class AuthToken {
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    // Epoch millis; expired rows are purged in bulk
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,20 @@
+package ku.cs.restaurant.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Single row (id 1) holding the catalog version shared by every node
+@Data
+@Entity
+@Table(name = "catalog_version")
+public class CatalogRevision {
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Epoch millis of the last write
+    @Column(name = "last_modified", nullable = false)
+    private long lastModified;
+}
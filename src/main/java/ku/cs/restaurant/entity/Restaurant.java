@@ -2,20 +2,52 @@ package ku.cs.restaurant.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 import java.util.UUID;
 
 @Data
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_restaurant_name", columnNames = "name"),
+        indexes = {
+                @Index(name = "idx_restaurant_location", columnList = "location, id"),
+                @Index(name = "idx_restaurant_rating", columnList = "rating, id"),
+                @Index(name = "idx_restaurant_created_at", columnList = "createdAt, id")
+        }
+)
 public class Restaurant {
     @Id
     @GeneratedValue
     private UUID id;
 
-    @Column(unique = true)
     private String name;
     private double rating;
     private String location;
+
+    // Optional coordinates for "near me" search
+    private Double latitude;
+    private Double longitude;
     private Instant createdAt;
     private Instant updatedAt;
+
+    // Bumped on every write; PATCH only applies when the client's copy is current
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    // Detached copy, for in-memory indexes and caches
+    public Restaurant copy() {
+        Restaurant copy = new Restaurant();
+        copy.setId(id);
+        copy.setName(name);
+        copy.setRating(rating);
+        copy.setLocation(location);
+        copy.setLatitude(latitude);
+        copy.setLongitude(longitude);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setVersion(version);
+        return copy;
+    }
 }
@@ -2,6 +2,7 @@ package ku.cs.restaurant.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -20,4 +21,8 @@ public class User {
     private String name;
     private String role;
     private Instant createdAt;
+
+    // Bumped to invalidate every token issued to this user
+    @ColumnDefault("0")
+    private long sessionEpoch;
 }
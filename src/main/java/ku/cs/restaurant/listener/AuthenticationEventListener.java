@@ -1,13 +1,11 @@
 package ku.cs.restaurant.listener;
 
-import ku.cs.restaurant.entity.User;
-import ku.cs.restaurant.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
 import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -15,26 +13,19 @@ import java.time.Instant;
 @Component
 public class AuthenticationEventListener {
     Logger logger = LoggerFactory.getLogger(AuthenticationEventListener.class);
-    private final UserService userService;
-
-    @Autowired
-    public AuthenticationEventListener(UserService userService) {
-        this.userService = userService;
-    }
 
     @EventListener
     public void onSuccess(AuthenticationSuccessEvent event) {
-        User user = (User) event.getAuthentication().getPrincipal();
+        UserDetails user = (UserDetails) event.getAuthentication().getPrincipal();
         logger.info("{} successfully logged in at {}", user.getUsername(), Instant.now());
     }
 
     @EventListener
     public void onFailure(AuthenticationFailureBadCredentialsEvent event) {
+        // No lookup here: telling an unknown username from a wrong password
+        // would cost a query per failed attempt
         String username = (String) event.getAuthentication().getPrincipal();
-        if (userService.userExists(username))
-            logger.warn("Failed login attempt [incorrect PASSWORD]");
-        else
-            logger.warn("Failed login attempt [incorrect USERNAME]");
+        logger.warn("Failed login attempt for {}", username);
     }
 }
 
@@ -0,0 +1,104 @@
+package ku.cs.restaurant.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import ku.cs.restaurant.cache.ExpiringCache;
+import ku.cs.restaurant.cache.PageResponseCache;
+import ku.cs.restaurant.security.BoundedPasswordEncoder;
+import ku.cs.restaurant.security.InMemoryTokenStore;
+import ku.cs.restaurant.security.LoginThrottle;
+import ku.cs.restaurant.security.PrincipalCache;
+import ku.cs.restaurant.security.RateLimitFilter;
+import ku.cs.restaurant.security.TokenStore;
+import ku.cs.restaurant.service.RestaurantCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges and counters over state the application already tracks (sessions,
+ * caches, the password hashing pool, throttling), under the same
+ * "restaurant." prefix as the @Timed timers. Values are read at scrape time,
+ * so nothing is added to the request path.
+ */
+@Component
+public class ApplicationMetrics implements MeterBinder {
+
+    private final TokenStore tokenStore;
+    private final PrincipalCache principalCache;
+    private final RestaurantCache restaurantCache;
+    private final PageResponseCache pageCache;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+    private final RateLimitFilter rateLimitFilter;
+
+    public ApplicationMetrics(TokenStore tokenStore, PrincipalCache principalCache,
+                              RestaurantCache restaurantCache, PageResponseCache pageCache,
+                              BoundedPasswordEncoder passwordEncoder, LoginThrottle loginThrottle,
+                              RateLimitFilter rateLimitFilter) {
+        this.tokenStore = tokenStore;
+        this.principalCache = principalCache;
+        this.restaurantCache = restaurantCache;
+        this.pageCache = pageCache;
+        this.passwordEncoder = passwordEncoder;
+        this.loginThrottle = loginThrottle;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // The JDBC store answers from the count taken at its last purge, not a query per scrape
+        Gauge.builder("restaurant.token.store.sessions", tokenStore, TokenStore::size)
+                .description("Live login sessions in the token store")
+                .register(registry);
+        if (tokenStore instanceof InMemoryTokenStore memoryStore) {
+            FunctionCounter.builder("restaurant.token.store.evictions", memoryStore, InMemoryTokenStore::getExpiredEvictions)
+                    .tag("cause", "expired").description("Sessions dropped by the expiry sweep").register(registry);
+            FunctionCounter.builder("restaurant.token.store.evictions", memoryStore, InMemoryTokenStore::getCapacityEvictions)
+                    .tag("cause", "capacity").description("Live sessions dropped because the store was full")
+                    .register(registry);
+        }
+
+        // Cache names match GET /admin/caches
+        Gauge.builder("restaurant.cache.size", principalCache, PrincipalCache::size)
+                .tag("cache", "principal").register(registry);
+        FunctionCounter.builder("restaurant.cache.hits", principalCache, PrincipalCache::getHits)
+                .tag("cache", "principal").register(registry);
+        FunctionCounter.builder("restaurant.cache.misses", principalCache, PrincipalCache::getMisses)
+                .tag("cache", "principal").register(registry);
+        FunctionCounter.builder("restaurant.cache.evictions", principalCache, PrincipalCache::getEvictions)
+                .tag("cache", "principal").register(registry);
+        bindCache(registry, "restaurant.byId", restaurantCache.getByIdCache());
+        bindCache(registry, "restaurant.byName", restaurantCache.getByNameCache());
+        bindCache(registry, "restaurant.pages", pageCache.getPages());
+
+        Gauge.builder("restaurant.password.encoder.active", passwordEncoder, BoundedPasswordEncoder::getActive)
+                .description("Password hashes running").register(registry);
+        Gauge.builder("restaurant.password.encoder.queue", passwordEncoder, BoundedPasswordEncoder::getQueueDepth)
+                .description("Password hashes waiting for a thread").register(registry);
+        FunctionCounter.builder("restaurant.password.encoder.rejected", passwordEncoder, BoundedPasswordEncoder::getRejected)
+                .description("Hashes refused because the queue was full").register(registry);
+        FunctionCounter.builder("restaurant.password.encoder.timed.out", passwordEncoder, BoundedPasswordEncoder::getTimedOut)
+                .description("Hashes abandoned after the maximum wait").register(registry);
+
+        FunctionCounter.builder("restaurant.login.throttle.rejected", loginThrottle, LoginThrottle::getRejected)
+                .register(registry);
+        Gauge.builder("restaurant.login.throttle.keys", loginThrottle, LoginThrottle::getTrackedKeys)
+                .register(registry);
+        FunctionCounter.builder("restaurant.rate.limit.rejected", rateLimitFilter, RateLimitFilter::getRejected)
+                .register(registry);
+        Gauge.builder("restaurant.rate.limit.keys", rateLimitFilter, RateLimitFilter::size)
+                .register(registry);
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, ExpiringCache<?, ?> cache) {
+        Gauge.builder("restaurant.cache.size", cache, ExpiringCache::size)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("restaurant.cache.hits", cache, ExpiringCache::getHits)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("restaurant.cache.misses", cache, ExpiringCache::getMisses)
+                .tag("cache", name).register(registry);
+        FunctionCounter.builder("restaurant.cache.evictions", cache, ExpiringCache::getEvictions)
+                .tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package ku.cs.restaurant.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds every Spring Data repository call to the "db" Server-Timing phase and
+ * counts them. For a Stream-returning query only opening the stream is
+ * timed. Not registered unless diagnostics.server-timing.enabled=true, so
+ * repository calls are not wrapped at all otherwise.
+ */
+@Aspect
+@Component
+@ConditionalOnBooleanProperty("diagnostics.server-timing.enabled")
+public class RepositoryTimingAspect {
+
+    private final ServerTiming serverTiming;
+
+    public RepositoryTimingAspect(ServerTiming serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startedAt = serverTiming.start();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            serverTiming.stop(ServerTiming.Phase.DB, startedAt);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ku.cs.restaurant.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Per-request phase timings for the Server-Timing response header.
+ * ServerTimingFilter starts a recorder for the request thread; instrumented
+ * code brackets its work with start() and stop(). With
+ * diagnostics.server-timing.enabled=false, start() returns at once without
+ * touching the thread-local, so the instrumentation allocates nothing.
+ */
+@Component
+public class ServerTiming {
+
+    // Returned by start() when the current thread is not recording
+    public static final long NOT_RECORDING = Long.MIN_VALUE;
+
+    public enum Phase {
+        AUTH("auth", "auth filter"),
+        JWT("jwt", "JWT verify"),
+        USER("user", "user lookup"),
+        DB("db", "repository"),
+        SERIALIZATION("ser", "serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    // One per thread, reused across requests
+    static final class Recorder {
+        private final long[] nanos = new long[PHASES.length];
+        private final int[] counts = new int[PHASES.length];
+        private long startedAt;
+        private boolean active;
+    }
+
+    private final boolean enabled;
+    private final boolean adminOnly;
+    private final ThreadLocal<Recorder> recorders = new ThreadLocal<>();
+
+    public ServerTiming(@Value("${diagnostics.server-timing.enabled:false}") boolean enabled,
+                        @Value("${diagnostics.server-timing.admin-only:true}") boolean adminOnly) {
+        this.enabled = enabled;
+        this.adminOnly = adminOnly;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isAdminOnly() {
+        return adminOnly;
+    }
+
+    public long start() {
+        if (!enabled)
+            return NOT_RECORDING;
+        Recorder recorder = recorders.get();
+        return recorder != null && recorder.active ? System.nanoTime() : NOT_RECORDING;
+    }
+
+    public void stop(Phase phase, long startedAt) {
+        if (startedAt == NOT_RECORDING)
+            return;
+        Recorder recorder = recorders.get();
+        if (recorder != null && recorder.active) {
+            recorder.nanos[phase.ordinal()] += System.nanoTime() - startedAt;
+            recorder.counts[phase.ordinal()]++;
+        }
+    }
+
+    void begin() {
+        Recorder recorder = recorders.get();
+        if (recorder == null) {
+            recorder = new Recorder();
+            recorders.set(recorder);
+        }
+        Arrays.fill(recorder.nanos, 0);
+        Arrays.fill(recorder.counts, 0);
+        recorder.startedAt = System.nanoTime();
+        recorder.active = true;
+    }
+
+    // Stops recording and returns the header value, e.g.
+    // auth;desc="auth filter";dur=0.41, db;desc="repository x2";dur=1.20, total;dur=3.05
+    String end() {
+        Recorder recorder = recorders.get();
+        if (recorder == null || !recorder.active)
+            return null;
+        recorder.active = false;
+
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            int count = recorder.counts[phase.ordinal()];
+            if (count == 0)
+                continue;
+            header.append(phase.metric).append(";desc=\"").append(phase.description);
+            if (phase == Phase.DB)
+                header.append(" x").append(count);
+            header.append("\";dur=").append(millis(recorder.nanos[phase.ordinal()])).append(", ");
+        }
+        return header.append("total;dur=").append(millis(System.nanoTime() - recorder.startedAt)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+    }
+}
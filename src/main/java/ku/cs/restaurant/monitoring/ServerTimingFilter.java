@@ -0,0 +1,71 @@
+package ku.cs.restaurant.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Records ServerTiming phases for each request and adds them as a
+ * Server-Timing header, to admins only unless admin-only is switched off.
+ * The body is buffered so the header can still be set after serialization;
+ * the streaming export is left alone for that reason.
+ * Registered in the security chain ahead of JwtCookieAuthFilter, and only
+ * when diagnostics.server-timing.enabled=true.
+ */
+@Component
+@ConditionalOnBooleanProperty("diagnostics.server-timing.enabled")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String HEADER = "Server-Timing";
+
+    private final ServerTiming serverTiming;
+
+    public ServerTimingFilter(ServerTiming serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/restaurants/export");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        serverTiming.begin();
+        try {
+            filterChain.doFilter(request, buffered);
+        } finally {
+            String timings = serverTiming.end();
+            // Still inside the security chain, so the authenticated user is known here
+            if (timings != null && (!serverTiming.isAdminOnly() || isAdmin()))
+                buffered.setHeader(HEADER, timings);
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null)
+            return false;
+        for (GrantedAuthority authority : authentication.getAuthorities())
+            if ("ROLE_ADMIN".equals(authority.getAuthority()))
+                return true;
+        return false;
+    }
+}
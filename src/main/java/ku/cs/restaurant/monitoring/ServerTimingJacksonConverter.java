@@ -0,0 +1,40 @@
+package ku.cs.restaurant.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The standard Jackson converter, with body writing added to the "ser"
+ * Server-Timing phase. Being a MappingJackson2HttpMessageConverter bean, it
+ * takes the place of the one Spring Boot would register, and only when
+ * diagnostics.server-timing.enabled=true.
+ */
+@Component
+@ConditionalOnBooleanProperty("diagnostics.server-timing.enabled")
+public class ServerTimingJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ServerTiming serverTiming;
+
+    public ServerTimingJacksonConverter(ObjectMapper objectMapper, ServerTiming serverTiming) {
+        super(objectMapper);
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long startedAt = serverTiming.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            serverTiming.stop(ServerTiming.Phase.SERIALIZATION, startedAt);
+        }
+    }
+}
@@ -1,17 +1,57 @@
 package ku.cs.restaurant.repository;
 
 import ku.cs.restaurant.entity.Restaurant;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, UUID> {
     boolean existsByName(String name);
     Optional<Restaurant> findByName(String name);
     List<Restaurant> findByLocation(String location);
+    Window<Restaurant> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("select r.name from Restaurant r where r.name in :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    // Partial update in one statement: null arguments keep the current value,
+    // and nothing is written unless the row is still at the expected version
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Restaurant r set r.name = coalesce(:name, r.name), r.rating = coalesce(:rating, r.rating),"
+            + " r.location = coalesce(:location, r.location), r.latitude = coalesce(:latitude, r.latitude),"
+            + " r.longitude = coalesce(:longitude, r.longitude), r.updatedAt = :updatedAt,"
+            + " r.version = r.version + 1 where r.id = :id and r.version = :version")
+    int patch(@Param("id") UUID id, @Param("version") long version,
+              @Param("name") String name, @Param("rating") Double rating, @Param("location") String location,
+              @Param("latitude") Double latitude, @Param("longitude") Double longitude,
+              @Param("updatedAt") Instant updatedAt);
+
+    // Cursor over the whole table for exports; call inside a transaction and close it
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Restaurant r order by r.id")
+    Stream<Restaurant> streamAll();
 }
 
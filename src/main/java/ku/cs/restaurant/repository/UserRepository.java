@@ -2,6 +2,10 @@ package ku.cs.restaurant.repository;
 
 import ku.cs.restaurant.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 import java.util.UUID;
 
@@ -9,4 +13,12 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     User findByUsername(String username);
     boolean existsByUsername(String username);
+
+    @Query("select u.sessionEpoch from User u where u.username = :username")
+    Long findSessionEpochByUsername(@Param("username") String username);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.sessionEpoch = u.sessionEpoch + 1 where u.username = :username")
+    int incrementSessionEpoch(@Param("username") String username);
 }
@@ -0,0 +1,31 @@
+package ku.cs.restaurant.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Security principal that also carries the display name and session
+ * epoch, so /api/auth/me and token checks need no extra user lookup.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final String name;
+    private final long sessionEpoch;
+
+    public AuthenticatedUser(String username, String password,
+                             Collection<? extends GrantedAuthority> authorities,
+                             String name, long sessionEpoch) {
+        super(username, password, authorities);
+        this.name = name;
+        this.sessionEpoch = sessionEpoch;
+    }
+
+    // Same principal without the password hash
+    public AuthenticatedUser withoutPassword() {
+        return new AuthenticatedUser(getUsername(), "", getAuthorities(), name, sessionEpoch);
+    }
+}
@@ -0,0 +1,211 @@
+package ku.cs.restaurant.security;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a CPU- and memory-heavy encoder (Argon2) on a small dedicated pool
+ * with a bounded queue, so a burst of logins cannot run more hashes at once
+ * than there are cores, nor take Argon2's memory per request thread.
+ * The calling request thread still waits for its hash, for at most maxWait;
+ * when the queue is full or that wait runs out, the call fails fast with
+ * PasswordHashingBusyException. Keep maxWait a small multiple of the p99
+ * hash time (PasswordHashingBenchmark) so a backlog turns into 503s, not
+ * stuck threads. That p99 is for a warmed-up JVM; see warmUp().
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final int WARM_UP_ROUNDS = 20;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long maxWaitMs, long retryAfterSeconds) {
+        if (threads < 1 || queueCapacity < 1)
+            throw new IllegalArgumentException("Password hashing pool needs at least one thread and queue slot");
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Right after a deploy the JVM still interprets Argon2 and hashes several
+    // times slower than maxWait allows, so the first logins would get 503s.
+    // Hash on every pool thread until a round fits in half of maxWait. This
+    // runs before readiness flips to ACCEPTING_TRAFFIC, so a load balancer
+    // that follows the readiness probe sends no logins meanwhile.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        int threads = executor.getMaximumPoolSize();
+        long roundNanos = Long.MAX_VALUE;
+        int rounds = 0;
+        try {
+            while (rounds < WARM_UP_ROUNDS && roundNanos > maxWaitMs * 500_000) {
+                long roundStart = System.nanoTime();
+                List<Future<String>> hashes = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++)
+                    hashes.add(executor.submit(() -> delegate.encode("warm-up")));
+                for (Future<String> hash : hashes)
+                    hash.get();
+                roundNanos = System.nanoTime() - roundStart;
+                rounds++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException | RejectedExecutionException e) {
+            logger.warn("Password encoder warm-up stopped: {}", e.toString());
+            return;
+        }
+        logger.info("Password encoder warmed up in {} ms ({} rounds, last {} ms)",
+                (System.nanoTime() - start) / 1_000_000, rounds, roundNanos / 1_000_000);
+    }
+
+    @Override
+    @Timed("restaurant.password.encoder")
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    @Timed("restaurant.password.encoder")
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueNanos.add(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    long finishedAt = System.nanoTime();
+                    hashNanos.add(finishedAt - startedAt);
+                    maxLatencyNanos.accumulate(finishedAt - submittedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: give the slot back. Already hashing: let it finish.
+            future.cancel(false);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException busy() {
+        return new PasswordHashingBusyException("Too many sign-in attempts in progress, try again shortly",
+                retryAfterSeconds);
+    }
+
+    // Stops the pool when the application context closes
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    public double getAverageQueueMs() {
+        long count = completed.sum();
+        return count == 0 ? 0 : queueNanos.sum() / 1e6 / count;
+    }
+
+    public double getAverageHashMs() {
+        long count = completed.sum();
+        return count == 0 ? 0 : hashNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyNanos.get() / 1e6;
+    }
+}
@@ -0,0 +1,64 @@
+package ku.cs.restaurant.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+
+/**
+ * One Google ID token verifier for the whole application. Google's signing
+ * certificates are cached for as long as their Cache-Control max-age allows,
+ * and refreshed on a background schedule shortly before they expire, so a
+ * login never waits on the certificate download once the keys are warm.
+ */
+@Component
+public class GoogleTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+
+    private final GooglePublicKeysManager publicKeys;
+    private final GoogleIdTokenVerifier verifier;
+
+    public GoogleTokenVerifier(@Value("${google.clientId}") String clientId,
+                               @Value("${google.certs-url:https://www.googleapis.com/oauth2/v1/certs}") String certsUrl) {
+        this.publicKeys = new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+        this.verifier = new GoogleIdTokenVerifier.Builder(publicKeys)
+                .setAudience(Collections.singletonList(clientId))
+                .build();
+    }
+
+    // Verified token, or null when the signature, audience, issuer or expiry is wrong
+    public GoogleIdToken verify(String credential) throws GeneralSecurityException, IOException {
+        return verifier.verify(credential);
+    }
+
+    // getPublicKeys refetches only when the keys are within five minutes of
+    // expiring, so this moves that fetch off the login path. Nothing is
+    // fetched before the first Google login.
+    @Scheduled(fixedDelayString = "${google.certs-refresh:60000}")
+    public void refreshKeys() {
+        if (publicKeys.getExpirationTimeMilliseconds() == 0)
+            return;
+        try {
+            publicKeys.getPublicKeys();
+        } catch (GeneralSecurityException | IOException e) {
+            logger.warn("Could not refresh Google signing certificates: {}", e.toString());
+        }
+    }
+
+    public GooglePublicKeysManager getPublicKeys() {
+        return publicKeys;
+    }
+}
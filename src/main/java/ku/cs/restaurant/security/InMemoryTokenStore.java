@@ -0,0 +1,129 @@
+package ku.cs.restaurant.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token store that keeps live sessions on the heap of this node.
+ * Sessions are grouped into buckets by expiry time; a sweep drops whole
+ * buckets once they have expired, so cleanup never scans live sessions.
+ * The number of sessions is capped: when full, the sessions closest to
+ * expiry are evicted first.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenStore implements TokenStore {
+
+    // Width of one expiry bucket
+    private static final long BUCKET_MS = 10_000;
+
+    private final int maxSessions;
+
+    // Token id -> expiry time (epoch millis)
+    private final Map<String, Long> sessions = new ConcurrentHashMap<>();
+
+    // Bucket start -> token ids expiring within that bucket
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder capacityEvictions = new LongAdder();
+
+    public InMemoryTokenStore(@Value("${jwt.token-store.memory.max-sessions:100000}") int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    @Override
+    public void register(String tokenId, long expiresAtMs) {
+        long now = System.currentTimeMillis();
+        sweepIfDue(now);
+        if (sessions.size() >= maxSessions)
+            evictForCapacity(now);
+
+        sessions.put(tokenId, expiresAtMs);
+        buckets.computeIfAbsent(bucketOf(expiresAtMs), b -> ConcurrentHashMap.newKeySet())
+                .add(tokenId);
+    }
+
+    @Override
+    public boolean isActive(String tokenId) {
+        long now = System.currentTimeMillis();
+        sweepIfDue(now);
+        Long expiresAt = sessions.get(tokenId);
+        return expiresAt != null && expiresAt > now;
+    }
+
+    @Override
+    public void revoke(String tokenId) {
+        Long expiresAt = sessions.remove(tokenId);
+        if (expiresAt != null) {
+            Set<String> bucket = buckets.get(bucketOf(expiresAt));
+            if (bucket != null)
+                bucket.remove(tokenId);
+        }
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    public long getExpiredEvictions() {
+        return expiredEvictions.sum();
+    }
+
+    public long getCapacityEvictions() {
+        return capacityEvictions.sum();
+    }
+
+    // Only one thread sweeps at a time; everyone else carries on without waiting
+    private void sweepIfDue(long now) {
+        if (now < nextSweepAt.get() || !sweeping.compareAndSet(false, true))
+            return;
+        try {
+            nextSweepAt.set(now + BUCKET_MS);
+            ConcurrentNavigableMap<Long, Set<String>> expired = buckets.headMap(bucketOf(now));
+            for (Map.Entry<Long, Set<String>> bucket : expired.entrySet()) {
+                for (String tokenId : bucket.getValue()) {
+                    if (sessions.remove(tokenId) != null)
+                        expiredEvictions.increment();
+                }
+                buckets.remove(bucket.getKey());
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    // Drop the bucket nearest to expiry to make room
+    private void evictForCapacity(long now) {
+        Map.Entry<Long, Set<String>> oldest = buckets.pollFirstEntry();
+        if (oldest == null)
+            return;
+        for (String tokenId : oldest.getValue()) {
+            Long expiresAt = sessions.remove(tokenId);
+            if (expiresAt == null)
+                continue;
+            if (expiresAt > now)
+                capacityEvictions.increment();
+            else
+                expiredEvictions.increment();
+        }
+    }
+
+    private static long bucketOf(long timeMs) {
+        return timeMs - Math.floorMod(timeMs, BUCKET_MS);
+    }
+}
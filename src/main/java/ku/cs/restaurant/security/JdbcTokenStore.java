@@ -0,0 +1,176 @@
+package ku.cs.restaurant.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import ku.cs.restaurant.cache.ExpiringCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Token store shared by every node through the application datasource,
+ * so sessions survive restarts and work behind a load balancer.
+ *
+ * Lookups go through a local near-cache whose entries are re-read from
+ * the database after jwt.token-store.jdbc.refresh ms, which bounds how
+ * long a logout on another node takes to be seen here.
+ * Inserts are group-committed: concurrent logins are written in one JDBC
+ * batch, and each caller waits for its batch so the session is visible
+ * to every node before the login response is sent.
+ * The auth_token table is mapped by the AuthToken entity.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.token-store.type", havingValue = "jdbc")
+public class JdbcTokenStore implements TokenStore {
+
+    private static final String INSERT =
+            "INSERT INTO auth_token (token_id, expires_at) VALUES (?, ?)";
+    private static final String SELECT =
+            "SELECT expires_at FROM auth_token WHERE token_id = ?";
+    private static final String DELETE =
+            "DELETE FROM auth_token WHERE token_id = ?";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM auth_token WHERE expires_at <= ?";
+    private static final String COUNT =
+            "SELECT COUNT(*) FROM auth_token";
+
+    private record PendingInsert(String tokenId, long expiresAtMs, CompletableFuture<Void> written) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcTokenStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long writeTimeoutMs;
+
+    // Token id -> expiry time (epoch millis), refreshed from the database after the TTL
+    private final ExpiringCache<String, Long> nearCache;
+
+    private final BlockingQueue<PendingInsert> pending = new LinkedBlockingQueue<>();
+
+    // Row count as of the last purge
+    private volatile int sessionCount;
+    private Thread writer;
+    private volatile boolean running;
+
+    public JdbcTokenStore(JdbcTemplate jdbcTemplate,
+                          @Value("${jwt.token-store.jdbc.batch-size:100}") int batchSize,
+                          @Value("${jwt.token-store.jdbc.write-timeout:5000}") long writeTimeoutMs,
+                          @Value("${jwt.token-store.jdbc.refresh:5000}") long refreshMs,
+                          @Value("${jwt.token-store.jdbc.near-cache-size:100000}") int nearCacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.nearCache = new ExpiringCache<>(nearCacheSize, refreshMs);
+    }
+
+    @PostConstruct
+    public void init() {
+        running = true;
+        writer = new Thread(this::writeLoop, "token-store-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(writeTimeoutMs);
+    }
+
+    @Override
+    public void register(String tokenId, long expiresAtMs) {
+        PendingInsert insert = new PendingInsert(tokenId, expiresAtMs, new CompletableFuture<>());
+        pending.add(insert);
+        try {
+            insert.written().get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while storing session", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Could not store session", e);
+        }
+        nearCache.put(tokenId, expiresAtMs);
+    }
+
+    @Override
+    public boolean isActive(String tokenId) {
+        Long expiresAt = nearCache.getOrLoad(tokenId, this::loadExpiry);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void revoke(String tokenId) {
+        jdbcTemplate.update(DELETE, tokenId);
+        nearCache.invalidate(tokenId);
+    }
+
+    // As of the last purge, so a metrics scrape does not count the table each time
+    @Override
+    public int size() {
+        return sessionCount;
+    }
+
+    // Remove expired rows so the shared table does not grow with login volume,
+    // then recount what is left for size()
+    @Scheduled(fixedDelayString = "${jwt.token-store.jdbc.purge-interval:60000}")
+    public void purgeExpired() {
+        int removed = jdbcTemplate.update(DELETE_EXPIRED, System.currentTimeMillis());
+        if (removed > 0)
+            logger.debug("Purged {} expired sessions", removed);
+        Integer count = jdbcTemplate.queryForObject(COUNT, Integer.class);
+        sessionCount = count != null ? count : 0;
+    }
+
+    private Long loadExpiry(String tokenId) {
+        List<Long> rows = jdbcTemplate.queryForList(SELECT, Long.class, tokenId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Drain whatever is queued (up to batchSize) and write it as one batch
+    private void writeLoop() {
+        List<PendingInsert> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingInsert first = pending.poll(1, TimeUnit.SECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (pending.isEmpty())
+                    return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), (ps, insert) -> {
+                ps.setString(1, insert.tokenId());
+                ps.setLong(2, insert.expiresAtMs());
+            });
+            batch.forEach(insert -> insert.written().complete(null));
+        } catch (RuntimeException e) {
+            logger.error("Failed to store {} sessions", batch.size(), e);
+            batch.forEach(insert -> insert.written().completeExceptionally(e));
+        }
+    }
+}
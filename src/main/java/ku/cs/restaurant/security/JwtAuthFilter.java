@@ -1,6 +1,7 @@
 package ku.cs.restaurant.security;
 
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +30,10 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private CustomUserDetailsService userDetailsService;
 
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -50,11 +55,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
 
             // Get jwt token and validate
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            // Verify once, then check the token was not logged out
+            Claims claims = (jwt != null) ? jwtUtils.verify(jwt) : null;
+            if (claims != null && jwtUtils.isSessionActive(claims)) {
 
 
-                String username = jwtUtils.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                String username = claims.getSubject();
+                UserDetails userDetails = jwtUtils.isStateless()
+                        ? jwtUtils.toPrincipal(claims)
+                        : principalCache.get(username, userDetailsService::loadUserByUsername);
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -66,9 +75,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext()
                         .setAuthentication(auth);
             }
-            filterChain.doFilter(request, response);
         } catch (Exception e) {
             System.out.println("Cannot set user authentication: " + e);
         }
+
+        // Outside the try: errors from the rest of the chain must reach the error handling
+        filterChain.doFilter(request, response);
     }
 }
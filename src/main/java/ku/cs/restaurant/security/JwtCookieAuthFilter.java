@@ -1,11 +1,14 @@
 package ku.cs.restaurant.security;
 
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import ku.cs.restaurant.monitoring.ServerTiming;
+import ku.cs.restaurant.monitoring.ServerTiming.Phase;
 import ku.cs.restaurant.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -29,6 +32,14 @@ public class JwtCookieAuthFilter extends OncePerRequestFilter {
     private CustomUserDetailsService userDetailsService;
 
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+
+    @Autowired
+    private ServerTiming serverTiming;
+
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -37,6 +48,7 @@ public class JwtCookieAuthFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
 
+        long authStartedAt = serverTiming.start();
         try {
             String jwt = null;
 
@@ -52,9 +64,17 @@ public class JwtCookieAuthFilter extends OncePerRequestFilter {
             }
 
             // Validate token and set authentication
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Verify once, then check the token was not logged out
+            long jwtStartedAt = serverTiming.start();
+            Claims claims = (jwt != null) ? jwtUtils.verify(jwt) : null;
+            serverTiming.stop(Phase.JWT, jwtStartedAt);
+            if (claims != null && jwtUtils.isSessionActive(claims)) {
+                String username = claims.getSubject();
+                long userStartedAt = serverTiming.start();
+                UserDetails userDetails = jwtUtils.isStateless()
+                        ? jwtUtils.toPrincipal(claims)
+                        : principalCache.get(username, userDetailsService::loadUserByUsername);
+                serverTiming.stop(Phase.USER, userStartedAt);
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -66,9 +86,12 @@ public class JwtCookieAuthFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext()
                         .setAuthentication(auth);
             }
-            filterChain.doFilter(request, response);
         } catch (Exception e) {
             System.out.println("Cannot set user authentication: " + e);
         }
+        serverTiming.stop(Phase.AUTH, authStartedAt);
+
+        // Outside the try: errors from the rest of the chain must reach the error handling
+        filterChain.doFilter(request, response);
     }
 }
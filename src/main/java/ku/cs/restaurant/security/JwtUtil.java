@@ -3,14 +3,21 @@ package ku.cs.restaurant.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
+import ku.cs.restaurant.cache.ExpiringCache;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HexFormat;
+import java.util.UUID;
 
 
 @Component
@@ -25,47 +32,83 @@ public class JwtUtil {
     private int jwtExpirationMs;
 
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheSize;
+
+
+    // Stateless mode: the principal is built from token claims and no token store is consulted
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLE_CLAIM = "role";
+    private static final String EPOCH_CLAIM = "sep";
+
+
     private SecretKey key;
 
-    // Token storage for logout functionality (for production, use Redis)
-    private final Set<String> validTokens = ConcurrentHashMap.newKeySet();
+    // Parsers are immutable and thread-safe, so one is shared by all requests
+    private JwtParser parser;
+
+    // Recently verified tokens, keyed by SHA-256 digest and never kept past "exp"
+    private ExpiringCache<String, Claims> verifiedClaims;
+
+    // Live sessions by token id, for logout functionality
+    private final TokenStore sessions;
+
+    // Current session epoch per user, for "log out everywhere"
+    private final SessionEpochs sessionEpochs;
 
 
-    // Initializes the key after the class is instantiated and
+    public JwtUtil(TokenStore sessions, SessionEpochs sessionEpochs) {
+        this.sessions = sessions;
+        this.sessionEpochs = sessionEpochs;
+    }
+
+
+    // Initializes the key and parser after the class is instantiated and
     // the jwtSecret is injected, preventing the repeated creation
-    // of the key and enhancing performance
+    // of both and enhancing performance
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedClaims = new ExpiringCache<>(claimsCacheSize, jwtExpirationMs);
+    }
+    // Generate JWT token and register its session
+    @Timed("restaurant.jwt")
+    public String generateToken(AuthenticatedUser user) {
+        String role = user.getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElse("");
+        return generateToken(user.getUsername(), user.getName(), role, user.getSessionEpoch());
     }
-    // Generate JWT token and store it in validTokens set
-    public String generateToken(String username) {
-        String token = Jwts.builder()
+
+    @Timed("restaurant.jwt")
+    public String generateToken(String username, String name, String role, long sessionEpoch) {
+        String tokenId = UUID.randomUUID().toString();
+        Date expiration = new Date(System.currentTimeMillis() + jwtExpirationMs);
+        JwtBuilder builder = Jwts.builder()
+                .id(tokenId)
                 .subject(username)
+                .claim(EPOCH_CLAIM, sessionEpoch)
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(key, Jwts.SIG.HS256)
-                .compact();
+                .expiration(expiration);
+        if (stateless)
+            builder.claim(NAME_CLAIM, name).claim(ROLE_CLAIM, role);
+        String token = builder.signWith(key, Jwts.SIG.HS256).compact();
 
-        // Add token to valid tokens set
-        validTokens.add(token);
+        if (!stateless)
+            sessions.register(tokenId, expiration.getTime());
         return token;
     }
-    // Get username from JWT token
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key).build()
-                .parseSignedClaims(token)
-                .getPayload().getSubject();
-    }
-    // Validate JWT token
-    public boolean validateJwtToken(String token) {
+    // Verify signature and expiry once and return the claims, or null if invalid
+    @Timed("restaurant.jwt")
+    public Claims verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key).build()
-                    .parseSignedClaims(token);
-            // Check if token is in valid tokens set (not invalidated by logout)
-            return validTokens.contains(token);
+            return parseClaims(token);
         } catch (SecurityException e) {
             System.out.println("Invalid JWT signature: " + e.getMessage());
         } catch (MalformedJwtException e) {
@@ -77,16 +120,78 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             System.out.println("JWT claims string is empty: " + e.getMessage());
         }
-        return false;
+        return null;
+    }
+    // Validate JWT token
+    public boolean validateJwtToken(String token) {
+        // Check if the session is still live (not invalidated by logout)
+        Claims claims = verify(token);
+        return claims != null && isSessionActive(claims);
     }
 
-    // Invalidate token (for logout)
+    // Invalidate token (for logout). Stateless tokens cannot be revoked one by one.
     public void invalidateToken(String token) {
-        validTokens.remove(token);
+        if (stateless)
+            return;
+        try {
+            sessions.revoke(tokenId(parseClaims(token)));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired tokens have no live session to revoke
+        }
+    }
+
+    // Check if the session behind already verified claims is still live
+    public boolean isSessionActive(Claims claims) {
+        Long currentEpoch = sessionEpochs.current(claims.getSubject());
+        Long tokenEpoch = claims.get(EPOCH_CLAIM, Long.class);
+        if (currentEpoch == null || !currentEpoch.equals(tokenEpoch))
+            return false;
+        return stateless || sessions.isActive(tokenId(claims));
+    }
+
+    public boolean isStateless() {
+        return stateless;
     }
 
-    // Check if token is valid (in the set)
-    public boolean isTokenValid(String token) {
-        return validTokens.contains(token);
+    // Build the principal straight from the claims of a stateless token
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        return new AuthenticatedUser(
+                claims.getSubject(),
+                "",
+                Collections.singleton(new SimpleGrantedAuthority(claims.get(ROLE_CLAIM, String.class))),
+                claims.get(NAME_CLAIM, String.class),
+                claims.get(EPOCH_CLAIM, Long.class)
+        );
+    }
+
+    // Parse and verify, skipping the HMAC check for tokens verified recently
+    private Claims parseClaims(String token) {
+        if (token == null || token.isEmpty())
+            throw new IllegalArgumentException("JWT string is empty");
+
+        String digest = digest(token);
+        Claims claims = verifiedClaims.get(digest);
+        if (claims != null)
+            return claims;
+
+        claims = parser.parseSignedClaims(token).getPayload();
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        if (remainingMs > 0)
+            verifiedClaims.put(digest, claims, remainingMs);
+        return claims;
+    }
+
+    // Tokens issued before "jti" was added never had a registered session
+    private static String tokenId(Claims claims) {
+        return claims.getId() != null ? claims.getId() : "";
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
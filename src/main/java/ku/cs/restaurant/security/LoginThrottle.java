@@ -0,0 +1,73 @@
+package ku.cs.restaurant.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits login attempts per username and per client IP, checked before the
+ * password is hashed or the user is looked up. A successful login clears
+ * the username's count; the IP count only ages out.
+ * The IP is request.getRemoteAddr(), which server.forward-headers-strategy
+ * resolves to the client's address when the request came through a trusted proxy.
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final SlidingWindowLimiter byUsername;
+    private final SlidingWindowLimiter byIp;
+    private final LongAdder rejected = new LongAdder();
+
+    public LoginThrottle(@Value("${security.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${security.login-throttle.window:60000}") long windowMs,
+                         @Value("${security.login-throttle.per-username:10}") int perUsername,
+                         @Value("${security.login-throttle.per-ip:50}") int perIp,
+                         @Value("${security.login-throttle.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.byUsername = new SlidingWindowLimiter(perUsername, windowMs, maxKeys);
+        this.byIp = new SlidingWindowLimiter(perIp, windowMs, maxKeys);
+    }
+
+    // Counts the attempt, or throws LoginThrottledException when either key is over its limit
+    public void acquire(String username, String ip) {
+        if (!enabled)
+            return;
+        long now = System.currentTimeMillis();
+        if (!byIp.tryAcquire(ip, now)) {
+            rejected.increment();
+            throw new LoginThrottledException(byIp.retryAfterSeconds(now));
+        }
+        if (!byUsername.tryAcquire(usernameKey(username), now)) {
+            rejected.increment();
+            throw new LoginThrottledException(byUsername.retryAfterSeconds(now));
+        }
+    }
+
+    public void onSuccess(String username) {
+        if (enabled)
+            byUsername.reset(usernameKey(username));
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.window:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        byUsername.sweep(now);
+        byIp.sweep(now);
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getTrackedKeys() {
+        return byUsername.size() + byIp.size();
+    }
+
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,19 @@
+package ku.cs.restaurant.security;
+
+/**
+ * Thrown when a login attempt is over the per-username or per-IP limit.
+ * Mapped to 429 with a Retry-After header.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many login attempts, try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,62 @@
+package ku.cs.restaurant.security;
+
+import ku.cs.restaurant.cache.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Caches resolved principals so authenticated requests do not
+ * query user_info on every call. Entries expire after a short TTL,
+ * which also bounds staleness for role changes made outside the app.
+ */
+@Component
+public class PrincipalCache {
+
+    private final ExpiringCache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl:60000}") long ttlMs) {
+        this.cache = new ExpiringCache<>(maxSize, ttlMs);
+    }
+
+    // Get principal from cache, falling back to the given loader on a miss
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.getOrLoad(username, name -> withoutPassword(loader.apply(name)));
+    }
+
+    // Drop cached principal (logout-all; any future role or password change)
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    // The filter only needs username and authorities, so keep the hash out of memory
+    private static UserDetails withoutPassword(UserDetails userDetails) {
+        if (userDetails instanceof AuthenticatedUser user)
+            return user.withoutPassword();
+        return new User(userDetails.getUsername(), "", userDetails.getAuthorities());
+    }
+}
@@ -0,0 +1,186 @@
+package ku.cs.restaurant.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-principal rate limit for the restaurant API, with separate budgets for
+ * reads (GET/HEAD) and writes. Runs after JwtCookieAuthFilter so signed-in
+ * clients are limited by username; anything else is limited by client IP
+ * (the X-Forwarded-For address behind a trusted proxy, see
+ * server.forward-headers-strategy).
+ *
+ * Each budget is a token bucket implemented as GCRA: the only state is the
+ * bucket's theoretical arrival time in one AtomicLong, updated by CAS, so
+ * the hot path takes no lock. Users and IPs have separate maps keyed by the
+ * name or address as given, so once a client is known the only allocations
+ * are the RateLimit-Remaining and RateLimit-Reset header values.
+ * A bucket whose arrival time has passed is full again, which is exactly
+ * when its entry can be evicted.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // nanoTime may be negative; measure from a fixed origin so times start at 0
+    private static final long ORIGIN = System.nanoTime();
+
+    private static final class Buckets {
+        final AtomicLong readTat = new AtomicLong();
+        final AtomicLong writeTat = new AtomicLong();
+    }
+
+    private record Budget(int burst, long intervalNanos, String limitHeader) {
+
+        Budget(int ratePerSecond, int burst) {
+            this(burst, TimeUnit.SECONDS.toNanos(1) / ratePerSecond, String.valueOf(burst));
+        }
+
+        long capacityNanos() {
+            return intervalNanos * burst;
+        }
+    }
+
+    // Signed-in clients by username, everyone else by address
+    private final ConcurrentHashMap<String, Buckets> userBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Buckets> ipBuckets = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Budget readBudget;
+    private final Budget writeBudget;
+    private final int maxKeys;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitFilter(@Value("${security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${security.rate-limit.read.rate:50}") int readRate,
+                           @Value("${security.rate-limit.read.burst:100}") int readBurst,
+                           @Value("${security.rate-limit.write.rate:5}") int writeRate,
+                           @Value("${security.rate-limit.write.burst:20}") int writeBurst,
+                           @Value("${security.rate-limit.max-keys:100000}") int maxKeys) {
+        if (readRate < 1 || readBurst < 1 || writeRate < 1 || writeBurst < 1 || maxKeys < 1)
+            throw new IllegalArgumentException("Rate limit rates, bursts and key count must be positive");
+        this.enabled = enabled;
+        this.readBudget = new Budget(readRate, readBurst);
+        this.writeBudget = new Budget(writeRate, writeBurst);
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/restaurants");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        Budget budget = read ? readBudget : writeBudget;
+        Buckets clientBuckets = bucketsFor(request);
+        AtomicLong tat = read ? clientBuckets.readTat : clientBuckets.writeTat;
+
+        long now = System.nanoTime() - ORIGIN;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + budget.intervalNanos();
+            long allowedAt = next - budget.capacityNanos();
+            if (allowedAt > now) {
+                rejected.increment();
+                reject(response, budget, current - now, allowedAt - now);
+                return;
+            }
+            if (tat.compareAndSet(current, next)) {
+                long remaining = (budget.capacityNanos() - (next - now)) / budget.intervalNanos();
+                setHeaders(response, budget, remaining, next - now);
+                break;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Drop clients whose buckets have refilled completely
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-interval:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime() - ORIGIN;
+        userBuckets.values().removeIf(b -> b.readTat.get() <= now && b.writeTat.get() <= now);
+        ipBuckets.values().removeIf(b -> b.readTat.get() <= now && b.writeTat.get() <= now);
+    }
+
+    public int size() {
+        return userBuckets.size() + ipBuckets.size();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private Buckets bucketsFor(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken))
+            return bucketsFor(userBuckets, authentication.getName());
+        return bucketsFor(ipBuckets, request.getRemoteAddr());
+    }
+
+    private Buckets bucketsFor(ConcurrentHashMap<String, Buckets> buckets, String key) {
+        Buckets existing = buckets.get(key);
+        if (existing != null)
+            return existing;
+        if (size() >= maxKeys)
+            makeRoom(buckets);
+        return buckets.computeIfAbsent(key, k -> new Buckets());
+    }
+
+    // Idle clients first; if still full, drop an arbitrary eighth of the map being added to
+    private void makeRoom(ConcurrentHashMap<String, Buckets> buckets) {
+        evictIdle();
+        int toDrop = Math.min(buckets.size(), size() - maxKeys + Math.max(1, maxKeys / 8));
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (toDrop > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            toDrop--;
+        }
+    }
+
+    // RateLimit-* as in the IETF RateLimit header fields draft; Reset is when the bucket is full again
+    private static void setHeaders(HttpServletResponse response, Budget budget, long remaining, long resetNanos) {
+        response.setHeader("RateLimit-Limit", budget.limitHeader());
+        response.setHeader("RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(resetNanos)));
+    }
+
+    private static void reject(HttpServletResponse response, Budget budget, long resetNanos, long retryNanos)
+            throws IOException {
+        setHeaders(response, budget, 0, resetNanos);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, toSeconds(retryNanos))));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, slow down");
+    }
+
+    private static long toSeconds(long nanos) {
+        return (Math.max(0, nanos) + 999_999_999) / 1_000_000_000;
+    }
+}
@@ -2,6 +2,9 @@ package ku.cs.restaurant.security;
 
 import ku.cs.restaurant.security.JwtCookieAuthFilter;
 import ku.cs.restaurant.security.UnauthorizedEntryPointJwt;
+import ku.cs.restaurant.monitoring.ServerTimingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,10 +30,15 @@ public class SecurityConfig {
 
     private final JwtCookieAuthFilter jwtCookieAuthFilter;
     private final UnauthorizedEntryPointJwt unauthorizedHandler;
+    private final RateLimitFilter rateLimitFilter;
+    private final ObjectProvider<ServerTimingFilter> serverTimingFilter;
 
-    public SecurityConfig(JwtCookieAuthFilter jwtCookieAuthFilter, UnauthorizedEntryPointJwt unauthorizedHandler) {
+    public SecurityConfig(JwtCookieAuthFilter jwtCookieAuthFilter, UnauthorizedEntryPointJwt unauthorizedHandler,
+                          RateLimitFilter rateLimitFilter, ObjectProvider<ServerTimingFilter> serverTimingFilter) {
         this.jwtCookieAuthFilter = jwtCookieAuthFilter;
         this.unauthorizedHandler = unauthorizedHandler;
+        this.rateLimitFilter = rateLimitFilter;
+        this.serverTimingFilter = serverTimingFilter;
     }
 
     /**
@@ -54,16 +62,23 @@ public class SecurityConfig {
                 // Define endpoint access rules
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
-                        .requestMatchers("/api/auth/login", "/api/auth/signup", "/api/auth/google", "/h2-console/**").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/signup", "/api/auth/google", "/h2-console/**", "/error").permitAll()
 
                         // Restaurant access rules
+                        // Export streams the whole table on a pooled connection
+                        .requestMatchers(HttpMethod.GET, "/api/restaurants/export")
+                        .hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/restaurants/**")
                         .hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
-                        .requestMatchers(HttpMethod.POST, "/api/restaurants")
+                        .requestMatchers(HttpMethod.POST, "/api/restaurants/lookup")
+                        .hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/restaurants", "/api/restaurants/**")
+                        .hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/restaurants", "/api/restaurants/**")
                         .hasAuthority("ROLE_ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/restaurants")
+                        .requestMatchers(HttpMethod.PATCH, "/api/restaurants/**")
                         .hasAuthority("ROLE_ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/restaurants")
+                        .requestMatchers(HttpMethod.DELETE, "/api/restaurants", "/api/restaurants/**")
                         .hasAuthority("ROLE_ADMIN")
 
                         // Admin-specific endpoints
@@ -79,6 +94,12 @@ public class SecurityConfig {
         // Register JWT Cookie filter before UsernamePasswordAuthenticationFilter
         http.addFilterBefore(jwtCookieAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Rate limit once the principal is known
+        http.addFilterAfter(rateLimitFilter, JwtCookieAuthFilter.class);
+
+        // Server-Timing wraps authentication so the auth filter is timed too; only exists when enabled
+        serverTimingFilter.ifAvailable(filter -> http.addFilterBefore(filter, JwtCookieAuthFilter.class));
+
         return http.build();
     }
 
@@ -89,10 +110,11 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("https://localhost:3001"));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        configuration.setExposedHeaders(Arrays.asList("Set-Cookie"));
+        configuration.setExposedHeaders(Arrays.asList("Set-Cookie", "Retry-After",
+                "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset", "Server-Timing"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -100,11 +122,25 @@ public class SecurityConfig {
     }
 
     /**
-     * Password encoder using Argon2 (strong and secure)
+     * Password encoder using Argon2 (strong and secure), run on a bounded pool
+     * so hashing cannot tie up request threads. Existing hashes keep the
+     * parameters they were created with; new ones use the configured values.
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.argon2.salt-length:16}") int saltLength,
+            @Value("${security.argon2.hash-length:32}") int hashLength,
+            @Value("${security.argon2.parallelism:1}") int parallelism,
+            @Value("${security.argon2.memory:16384}") int memoryKb,
+            @Value("${security.argon2.iterations:2}") int iterations,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.max-wait:500}") long maxWaitMs,
+            @Value("${security.password-hashing.retry-after:1}") long retryAfterSeconds) {
+        PasswordEncoder argon2 = new Argon2PasswordEncoder(saltLength, hashLength, parallelism, memoryKb, iterations);
+        // 0 threads: one per core, since each hash keeps a core busy
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(argon2, poolSize, queueCapacity, maxWaitMs, retryAfterSeconds);
     }
 
     /**
@@ -0,0 +1,34 @@
+package ku.cs.restaurant.security;
+
+import ku.cs.restaurant.cache.ExpiringCache;
+import ku.cs.restaurant.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current session epoch per user. Tokens carry the epoch they were
+ * issued under, and bumping it logs the user out everywhere.
+ * Epochs are cached; other nodes see a bump after jwt.session-epoch.refresh ms.
+ */
+@Component
+public class SessionEpochs {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, Long> epochs;
+
+    public SessionEpochs(UserRepository userRepository,
+                         @Value("${jwt.session-epoch.max-size:10000}") int maxSize,
+                         @Value("${jwt.session-epoch.refresh:60000}") long refreshMs) {
+        this.userRepository = userRepository;
+        this.epochs = new ExpiringCache<>(maxSize, refreshMs);
+    }
+
+    // Current epoch, or null if the user no longer exists
+    public Long current(String username) {
+        return epochs.getOrLoad(username, userRepository::findSessionEpochByUsername);
+    }
+
+    public void invalidate(String username) {
+        epochs.invalidate(username);
+    }
+}
@@ -0,0 +1,98 @@
+package ku.cs.restaurant.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-key sliding-window counter: the previous fixed window is weighted by how
+ * much of it still overlaps the sliding window, which approximates a true
+ * sliding log with two counters per key. Updates are lock-free (CAS on an
+ * immutable state), and the number of keys is capped.
+ */
+public class SlidingWindowLimiter {
+
+    private record State(long windowStart, int previous, int current) {
+
+        // Move the window forward to the one containing now
+        State roll(long now, long windowMs) {
+            long start = now - Math.floorMod(now, windowMs);
+            if (start == windowStart)
+                return this;
+            if (start - windowStart == windowMs)
+                return new State(start, current, 0);
+            return new State(start, 0, 0);
+        }
+
+        double estimate(long now, long windowMs) {
+            double previousWeight = (double) (windowMs - (now - windowStart)) / windowMs;
+            return previous * previousWeight + current;
+        }
+    }
+
+    private final ConcurrentHashMap<String, AtomicReference<State>> states = new ConcurrentHashMap<>();
+    private final int limit;
+    private final long windowMs;
+    private final int maxKeys;
+
+    public SlidingWindowLimiter(int limit, long windowMs, int maxKeys) {
+        if (limit < 1 || windowMs < 1 || maxKeys < 1)
+            throw new IllegalArgumentException("Limit, window and key count must be positive");
+        this.limit = limit;
+        this.windowMs = windowMs;
+        this.maxKeys = maxKeys;
+    }
+
+    // Count one event for key; false (and nothing counted) when the key is over its limit
+    public boolean tryAcquire(String key, long now) {
+        AtomicReference<State> ref = states.get(key);
+        if (ref == null) {
+            if (states.size() >= maxKeys)
+                makeRoom(now);
+            ref = states.computeIfAbsent(key, k -> new AtomicReference<>(new State(now - Math.floorMod(now, windowMs), 0, 0)));
+        }
+        while (true) {
+            State state = ref.get();
+            State rolled = state.roll(now, windowMs);
+            if (rolled.estimate(now, windowMs) + 1 > limit) {
+                if (rolled != state)
+                    ref.compareAndSet(state, rolled);
+                return false;
+            }
+            State next = new State(rolled.windowStart, rolled.previous, rolled.current + 1);
+            if (ref.compareAndSet(state, next))
+                return true;
+        }
+    }
+
+    public void reset(String key) {
+        states.remove(key);
+    }
+
+    // Seconds until the current window rolls over, at least 1
+    public long retryAfterSeconds(long now) {
+        long remaining = windowMs - Math.floorMod(now, windowMs);
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    // Drop keys with nothing left in the sliding window
+    public void sweep(long now) {
+        states.entrySet().removeIf(entry -> entry.getValue().get().roll(now, windowMs).estimate(now, windowMs) == 0);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    // Idle keys first; if still full, drop an arbitrary eighth
+    private void makeRoom(long now) {
+        sweep(now);
+        int toDrop = states.size() - maxKeys + Math.max(1, maxKeys / 8);
+        Iterator<String> keys = states.keySet().iterator();
+        while (toDrop > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            toDrop--;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ku.cs.restaurant.security;
+
+/**
+ * Store of live login sessions, keyed by token id (the "jti" claim).
+ * A signed token is only accepted while its session is active here,
+ * which is what lets logout revoke it before it expires.
+ */
+public interface TokenStore {
+
+    // Record a newly issued token until it expires
+    void register(String tokenId, long expiresAtMs);
+
+    // True if the token was registered, has not expired and was not revoked
+    boolean isActive(String tokenId);
+
+    // Revoke a token (logout)
+    void revoke(String tokenId);
+
+    // Number of sessions currently held
+    int size();
+}
@@ -0,0 +1,118 @@
+package ku.cs.restaurant.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Version counter for the restaurant catalog, bumped by every write
+ * through RestaurantService. List responses derive their validators
+ * (ETag, Last-Modified) from it, so an unchanged page can be answered
+ * with 304 before any query runs.
+ * The counter lives in the catalog_version row (CatalogRevision), so every
+ * node behind a load balancer hands out the same validators. Reads go
+ * through a local copy that is re-read after restaurant.catalog-version.refresh
+ * ms, which bounds how long a write on another node can be answered with a
+ * stale 304 here; writes on this node are seen at once.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final String SELECT =
+            "SELECT version, last_modified FROM catalog_version WHERE id = 1";
+    private static final String INSERT =
+            "INSERT INTO catalog_version (id, version, last_modified) VALUES (1, ?, ?)";
+    private static final String BUMP =
+            "UPDATE catalog_version SET version = version + 1, last_modified = ? WHERE id = 1";
+
+    private record Snapshot(long version, long lastModifiedMs, long readAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshNanos;
+    private volatile Snapshot snapshot;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public CatalogVersion(JdbcTemplate jdbcTemplate,
+                          @Value("${restaurant.catalog-version.refresh:1000}") long refreshMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshNanos = refreshMs * 1_000_000;
+    }
+
+    public void bump() {
+        long now = System.currentTimeMillis();
+        if (jdbcTemplate.update(BUMP, now) == 0) {
+            read();
+            jdbcTemplate.update(BUMP, now);
+        }
+        snapshot = read();
+    }
+
+    public long current() {
+        return fresh().version();
+    }
+
+    public long lastModifiedMs() {
+        return fresh().lastModifiedMs();
+    }
+
+    public Instant lastModified() {
+        return Instant.ofEpochMilli(lastModifiedMs());
+    }
+
+    // Strong ETag for a view of the catalog at the given version
+    public String eTag(long atVersion, Object... queryParts) {
+        StringBuilder tag = new StringBuilder("\"c-").append(atVersion);
+        for (Object part : queryParts)
+            tag.append('-').append(part);
+        return tag.append('"').toString();
+    }
+
+    private Snapshot fresh() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.readAtNanos() < refreshNanos)
+            return current;
+        // One thread re-reads; the others keep using the copy they have
+        // rather than queueing behind the query. Only the very first read
+        // waits. A lock, not synchronized, so a virtual thread blocked on
+        // the database does not pin its carrier.
+        if (current != null && !refreshLock.tryLock())
+            return current;
+        if (current == null)
+            refreshLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || System.nanoTime() - current.readAtNanos() >= refreshNanos)
+                snapshot = current = read();
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Snapshot read() {
+        List<Snapshot> rows = select();
+        if (!rows.isEmpty())
+            return rows.get(0);
+
+        // First use of this database. Starting from the clock rather than 0
+        // keeps ETags issued before the table was recreated from matching.
+        long now = System.currentTimeMillis();
+        try {
+            jdbcTemplate.update(INSERT, now, now);
+        } catch (DuplicateKeyException e) {
+            // Another node created the row first
+        }
+        return select().get(0);
+    }
+
+    private List<Snapshot> select() {
+        return jdbcTemplate.query(SELECT,
+                (rs, i) -> new Snapshot(rs.getLong(1), rs.getLong(2), System.nanoTime()));
+    }
+}
@@ -1,7 +1,9 @@
 package ku.cs.restaurant.service;
 
+import io.micrometer.core.annotation.Timed;
 import ku.cs.restaurant.entity.User;
 import ku.cs.restaurant.repository.UserRepository;
+import ku.cs.restaurant.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
@@ -26,6 +28,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      * Load user by username for Spring Security
      */
     @Override
+    @Timed("restaurant.user.lookup")
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
 
@@ -37,10 +40,12 @@ public class CustomUserDetailsService implements UserDetailsService {
         // Create a SimpleGrantedAuthority list containing the user's role
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority(user.getRole());
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
                 user.getUsername(),
                 user.getPassword(),
-                Collections.singleton(authority)
+                Collections.singleton(authority),
+                user.getName(),
+                user.getSessionEpoch()
         );
     }
 }
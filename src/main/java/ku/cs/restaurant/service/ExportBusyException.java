@@ -0,0 +1,19 @@
+package ku.cs.restaurant.service;
+
+/**
+ * Thrown when the configured number of catalog exports is already running.
+ * Mapped to 503 with a Retry-After header.
+ */
+public class ExportBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExportBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
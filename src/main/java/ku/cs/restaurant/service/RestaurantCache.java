@@ -0,0 +1,94 @@
+package ku.cs.restaurant.service;
+
+import ku.cs.restaurant.cache.ExpiringCache;
+import ku.cs.restaurant.entity.Restaurant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for restaurant lookups by id and by name.
+ * Misses are cached too (as empty), for a shorter time.
+ * RestaurantService invalidates entries after every write, and loads that
+ * race with a write are discarded, so a node never serves a restaurant
+ * older than its own last successful write.
+ */
+@Component
+public class RestaurantCache {
+
+    private final ExpiringCache<UUID, Optional<Restaurant>> byId;
+    private final ExpiringCache<String, Optional<Restaurant>> byName;
+    private final long negativeTtlMs;
+
+    public RestaurantCache(@Value("${restaurant.cache.max-size:10000}") int maxSize,
+                           @Value("${restaurant.cache.ttl:300000}") long ttlMs,
+                           @Value("${restaurant.cache.negative-ttl:5000}") long negativeTtlMs) {
+        this.byId = new ExpiringCache<>(maxSize, ttlMs);
+        this.byName = new ExpiringCache<>(maxSize, ttlMs);
+        this.negativeTtlMs = negativeTtlMs;
+    }
+
+    public Optional<Restaurant> getById(UUID id, Function<UUID, Optional<Restaurant>> loader) {
+        return byId.getOrLoad(id, key -> detach(loader.apply(key)), this::ttlOf);
+    }
+
+    // Cached lookup of many ids; the misses are fetched with a single loader call.
+    // Ids that do not exist map to an empty Optional (and are cached as misses).
+    public Map<UUID, Optional<Restaurant>> getAllById(Collection<UUID> ids,
+                                                      Function<Collection<UUID>, List<Restaurant>> loader) {
+        return byId.getAllOrLoad(ids, missing -> {
+            Map<UUID, Optional<Restaurant>> loaded = new HashMap<>();
+            for (UUID id : missing)
+                loaded.put(id, Optional.empty());
+            for (Restaurant restaurant : loader.apply(missing))
+                loaded.put(restaurant.getId(), Optional.of(restaurant.copy()));
+            return loaded;
+        }, this::ttlOf);
+    }
+
+    public Optional<Restaurant> getByName(String name, Function<String, Optional<Restaurant>> loader) {
+        return byName.getOrLoad(name, key -> detach(loader.apply(key)), this::ttlOf);
+    }
+
+    // Drop every entry the given restaurant could be cached under
+    public void invalidate(Restaurant restaurant) {
+        if (restaurant.getId() != null)
+            byId.invalidate(restaurant.getId());
+        if (restaurant.getName() != null)
+            byName.invalidate(restaurant.getName());
+    }
+
+    // A rename leaves the old name cached under a key we may not know
+    public void invalidateAllNames() {
+        byName.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byName.invalidateAll();
+    }
+
+    public ExpiringCache<UUID, Optional<Restaurant>> getByIdCache() {
+        return byId;
+    }
+
+    public ExpiringCache<String, Optional<Restaurant>> getByNameCache() {
+        return byName;
+    }
+
+    private long ttlOf(Optional<Restaurant> value) {
+        return value.isPresent() ? Long.MAX_VALUE : negativeTtlMs;
+    }
+
+    // Never hold on to a managed entity
+    private static Optional<Restaurant> detach(Optional<Restaurant> restaurant) {
+        return restaurant.map(Restaurant::copy);
+    }
+}
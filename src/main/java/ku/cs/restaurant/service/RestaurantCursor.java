@@ -0,0 +1,51 @@
+package ku.cs.restaurant.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for keyset pagination over (sortKey, id).
+ * Encoded as URL-safe Base64 of "field \n id \n value".
+ */
+final class RestaurantCursor {
+
+    private RestaurantCursor() {
+    }
+
+    static String encode(RestaurantSortField field, KeysetScrollPosition position) {
+        Map<String, ?> keys = position.getKeys();
+        String raw = field.getProperty() + "\n" + keys.get("id") + "\n" + keys.get(field.getProperty());
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(RestaurantSortField field, String cursor) {
+        if (cursor == null || cursor.isEmpty())
+            return ScrollPosition.keyset();
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\n", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 3 || !parts[0].equals(field.getProperty()))
+            throw new IllegalArgumentException("Cursor does not match sortBy");
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            keys.put(field.getProperty(), field.parse(parts[2]));
+            keys.put("id", UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
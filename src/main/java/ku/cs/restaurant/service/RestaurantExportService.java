@@ -0,0 +1,162 @@
+package ku.cs.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog to an output stream. Rows come from a JDBC cursor
+ * (see RestaurantRepository.streamAll) and are detached once written, so heap
+ * use does not depend on the number of restaurants.
+ * Each export holds a pooled connection until it ends, so at most
+ * restaurant.export.max-concurrent run at once (others get 503), and one is
+ * cut off after restaurant.export.timeout seconds: the transaction timeout
+ * bounds the query, and the row loop stops once the deadline has passed.
+ */
+@Service
+public class RestaurantExportService {
+
+    private static final String CSV_HEADER = "id,name,rating,location,latitude,longitude,createdAt,updatedAt";
+
+    // Rows between deadline checks
+    private static final int DEADLINE_CHECK_ROWS = 1000;
+
+    private final RestaurantRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final long timeoutSeconds;
+    private final long retryAfterSeconds;
+
+    @Autowired
+    public RestaurantExportService(RestaurantRepository repository, EntityManager entityManager,
+                                   ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                   @Value("${restaurant.export.max-concurrent:2}") int maxConcurrent,
+                                   @Value("${restaurant.export.timeout:300}") int timeoutSeconds,
+                                   @Value("${restaurant.export.retry-after:5}") long retryAfterSeconds) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeoutSeconds = timeoutSeconds;
+        this.retryAfterSeconds = retryAfterSeconds;
+        // The stream must be consumed inside the transaction that opened the cursor
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout(timeoutSeconds);
+        // One flush at the end instead of one per row
+        this.rowWriter = objectMapper.writerFor(Restaurant.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Checked before the transaction starts, so a refused export never takes a connection
+    public long export(RestaurantExportFormat format, OutputStream out) throws IOException {
+        if (!permits.tryAcquire())
+            throw new ExportBusyException("Too many exports running; try again later", retryAfterSeconds);
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    return write(format, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private long write(RestaurantExportFormat format, OutputStream out) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        long rows = 0;
+        try (Stream<Restaurant> restaurants = repository.streamAll()) {
+            Iterator<Restaurant> iterator = restaurants.iterator();
+            if (format == RestaurantExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                while (iterator.hasNext()) {
+                    Restaurant restaurant = iterator.next();
+                    writeCsvRow(writer, restaurant);
+                    entityManager.detach(restaurant);
+                    checkDeadline(++rows, deadline);
+                }
+            } else {
+                JsonGenerator generator = rowWriter.createGenerator(writer);
+                while (iterator.hasNext()) {
+                    Restaurant restaurant = iterator.next();
+                    rowWriter.writeValue(generator, restaurant);
+                    generator.writeRaw('\n');
+                    entityManager.detach(restaurant);
+                    checkDeadline(++rows, deadline);
+                }
+                generator.flush();
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // A slow client keeps the cursor open; give the connection back once time is up
+    private void checkDeadline(long rows, long deadline) {
+        if (rows % DEADLINE_CHECK_ROWS == 0 && System.nanoTime() > deadline)
+            throw new TransactionTimedOutException("Export exceeded " + timeoutSeconds + " s after " + rows + " rows");
+    }
+
+    private static void writeCsvRow(Writer writer, Restaurant restaurant) throws IOException {
+        writer.write(String.valueOf(restaurant.getId()));
+        writer.write(',');
+        writeCsvField(writer, restaurant.getName());
+        writer.write(',');
+        writer.write(Double.toString(restaurant.getRating()));
+        writer.write(',');
+        writeCsvField(writer, restaurant.getLocation());
+        writer.write(',');
+        writeCsvField(writer, restaurant.getLatitude());
+        writer.write(',');
+        writeCsvField(writer, restaurant.getLongitude());
+        writer.write(',');
+        writeCsvField(writer, restaurant.getCreatedAt());
+        writer.write(',');
+        writeCsvField(writer, restaurant.getUpdatedAt());
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null)
+            return;
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
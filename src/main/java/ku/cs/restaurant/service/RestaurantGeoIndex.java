@@ -0,0 +1,284 @@
+package ku.cs.restaurant.service;
+
+import ku.cs.restaurant.dto.NearbyRestaurant;
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory grid index over restaurant coordinates for "near me" queries.
+ * The globe is cut into fixed cells of CELL_DEGREES; a k-nearest query
+ * scans rings of cells outward from the caller and stops as soon as no
+ * unscanned cell can hold a closer restaurant, so it never scans the table.
+ * The rows and, per row, the longitudes scanned are limited to what the
+ * radius can reach, so the work stays bounded near the poles, where a
+ * cell is only a few metres wide.
+ * Built at startup and kept current by RestaurantService writes; other
+ * nodes' writes arrive through the same catalog-version rebuild as
+ * RestaurantSearchIndex, so they can be missing here for up to
+ * restaurant.index.reconcile-interval plus restaurant.catalog-version.refresh ms.
+ */
+@Component
+public class RestaurantGeoIndex {
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private record Point(Restaurant restaurant, double lat, double lon, long cell) {
+    }
+
+    private final RestaurantRepository repository;
+    private final CatalogVersion catalogVersion;
+
+    // Restaurant id -> indexed point; replaced as a whole by rebuild()
+    private volatile Map<UUID, Point> points = new ConcurrentHashMap<>();
+
+    // Cell key -> ids of restaurants inside the cell
+    private volatile Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+
+    // Catalog version the last rebuild started from
+    private volatile long builtAtVersion = -1;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public RestaurantGeoIndex(RestaurantRepository repository, CatalogVersion catalogVersion) {
+        this.repository = repository;
+        this.catalogVersion = catalogVersion;
+    }
+
+    // Same scheme as RestaurantSearchIndex.rebuild(): fresh maps swapped in
+    // under the write lock, so concurrent writes are not overwritten
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long version = catalogVersion.current();
+            Map<UUID, Point> newPoints = new ConcurrentHashMap<>();
+            Map<Long, Set<UUID>> newCells = new ConcurrentHashMap<>();
+            for (Restaurant restaurant : repository.findAll()) {
+                Point point = pointOf(restaurant);
+                if (point != null)
+                    link(point, newPoints, newCells);
+            }
+            cells = newCells;
+            points = newPoints;
+            builtAtVersion = version;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${restaurant.index.reconcile-interval:30000}",
+            initialDelayString = "${restaurant.index.reconcile-interval:30000}")
+    public void reconcile() {
+        if (catalogVersion.current() != builtAtVersion)
+            rebuild();
+    }
+
+    // Add or move a restaurant; restaurants without coordinates are not indexed
+    public void put(Restaurant restaurant) {
+        Point point = pointOf(restaurant);
+        writeLock.lock();
+        try {
+            // Concurrent updates can arrive out of order; never go back to an older version
+            Point indexed = points.get(restaurant.getId());
+            if (indexed != null && indexed.restaurant().getVersion() > restaurant.getVersion())
+                return;
+            if (point != null)
+                link(point, points, cells);
+            else if (indexed != null) {
+                points.remove(restaurant.getId());
+                unlink(indexed, cells);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        writeLock.lock();
+        try {
+            Point previous = points.remove(id);
+            if (previous != null)
+                unlink(previous, cells);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Up to limit restaurants within radiusKm, nearest first
+    public List<NearbyRestaurant> nearest(double lat, double lon, double radiusKm, int limit) {
+        int centerLat = latIndex(lat);
+        int centerLon = lonIndex(lon);
+
+        // Rows the radius can reach, clamped at the poles
+        double radiusDegrees = radiusKm / KM_PER_DEGREE;
+        int minRow = latIndex(Math.max(lat - radiusDegrees, -90));
+        int maxRow = latIndex(Math.min(lat + radiusDegrees, 90));
+
+        // Longitude cells to either side per row, from that row's most poleward edge
+        int[] spans = new int[maxRow - minRow + 1];
+        int maxRing = Math.max(centerLat - minRow, maxRow - centerLat);
+        for (int row = minRow; row <= maxRow; row++) {
+            spans[row - minRow] = lonSpan(lat, polewardEdge(row), radiusKm);
+            maxRing = Math.max(maxRing, spans[row - minRow]);
+        }
+        double cosPoleward = Math.cos(Math.toRadians(Math.max(polewardEdge(minRow), polewardEdge(maxRow))));
+        double cosLat = Math.cos(Math.toRadians(lat));
+
+        Map<UUID, Point> points = this.points;
+        Map<Long, Set<UUID>> cells = this.cells;
+        List<NearbyRestaurant> found = new ArrayList<>();
+        double kthKm = Double.POSITIVE_INFINITY;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int row = Math.max(centerLat - ring, minRow); row <= Math.min(centerLat + ring, maxRow); row++)
+                scanRow(row, centerLat, centerLon, ring, spans[row - minRow], lat, lon, radiusKm,
+                        points, cells, found);
+
+            if (found.size() >= limit) {
+                // Near the poles thousands of rings can pass without a new
+                // hit: only re-sort when something was added, and keep just
+                // the best `limit`, since anything past them is never returned
+                if (found.size() > limit || kthKm == Double.POSITIVE_INFINITY) {
+                    found.sort(Comparator.comparingDouble(NearbyRestaurant::getDistanceKm));
+                    found.subList(limit, found.size()).clear();
+                    kthKm = found.get(limit - 1).getDistanceKm();
+                }
+                // The k-th result is final once nothing unscanned can be closer:
+                // unscanned cells are more than `ring` rows or columns away
+                double rowsKm = ring * CELL_DEGREES * KM_PER_DEGREE;
+                double columnsKm = minDistanceKm(cosLat, cosPoleward, ring * CELL_DEGREES);
+                if (kthKm <= Math.min(rowsKm, columnsKm))
+                    break;
+            }
+        }
+
+        found.sort(Comparator.comparingDouble(NearbyRestaurant::getDistanceKm));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    // The cells of one row that lie on the border of the ring
+    private static void scanRow(int row, int centerLat, int centerLon, int ring, int span,
+                                double lat, double lon, double radiusKm,
+                                Map<UUID, Point> points, Map<Long, Set<UUID>> cells,
+                                List<NearbyRestaurant> found) {
+        // A full row covers each longitude cell once, not twice across the antimeridian
+        int west = Math.max(-ring, -span);
+        int east = Math.min(ring, Math.min(span, LON_CELLS - 1 - LON_CELLS / 2));
+        if (Math.abs(row - centerLat) == ring) {
+            for (int dLon = west; dLon <= east; dLon++)
+                scanCell(row, Math.floorMod(centerLon + dLon, LON_CELLS), lat, lon, radiusKm, points, cells, found);
+        } else {
+            // Only the two ends; the inside was scanned already
+            if (west == -ring)
+                scanCell(row, Math.floorMod(centerLon - ring, LON_CELLS), lat, lon, radiusKm, points, cells, found);
+            if (east == ring)
+                scanCell(row, Math.floorMod(centerLon + ring, LON_CELLS), lat, lon, radiusKm, points, cells, found);
+        }
+    }
+
+    private static void scanCell(int row, int lonIdx, double lat, double lon, double radiusKm,
+                                 Map<UUID, Point> points, Map<Long, Set<UUID>> cells,
+                                 List<NearbyRestaurant> found) {
+        Set<UUID> ids = cells.get(cellKey(row, lonIdx));
+        if (ids == null)
+            return;
+        for (UUID id : ids) {
+            Point point = points.get(id);
+            if (point == null)
+                continue;
+            double distance = haversineKm(lat, lon, point.lat(), point.lon());
+            if (distance <= radiusKm)
+                found.add(new NearbyRestaurant(point.restaurant().copy(), distance));
+        }
+    }
+
+    // Longitude cells either side of the centre that can hold a point within
+    // radiusKm, for points no further poleward than polewardLat; LON_CELLS / 2
+    // means the whole row
+    private static int lonSpan(double lat, double polewardLat, double radiusKm) {
+        // Haversine: sin(d / 2R) >= sqrt(cos lat1 * cos lat2) * sin(dLon / 2)
+        double sinHalf = Math.sin(radiusKm / (2 * EARTH_RADIUS_KM))
+                / Math.sqrt(Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(polewardLat)));
+        if (!(sinHalf < 1))
+            return LON_CELLS / 2;
+        double dLonDegrees = Math.toDegrees(2 * Math.asin(sinHalf));
+        return (int) Math.min(Math.ceil(dLonDegrees / CELL_DEGREES), LON_CELLS / 2);
+    }
+
+    // Lower bound on the distance to a point dLonDegrees of longitude away
+    private static double minDistanceKm(double cosLat, double cosPoleward, double dLonDegrees) {
+        double sinHalf = Math.sqrt(Math.max(cosLat * cosPoleward, 0))
+                * Math.sin(Math.toRadians(Math.min(dLonDegrees, 180)) / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, sinHalf));
+    }
+
+    // Absolute latitude of the row edge closest to a pole
+    private static double polewardEdge(int row) {
+        double south = row * CELL_DEGREES - 90;
+        return Math.min(Math.max(Math.abs(south), Math.abs(south + CELL_DEGREES)), 90);
+    }
+
+    private static Point pointOf(Restaurant restaurant) {
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null)
+            return null;
+        double lat = restaurant.getLatitude();
+        double lon = restaurant.getLongitude();
+        return new Point(restaurant.copy(), lat, lon, cellKey(latIndex(lat), lonIndex(lon)));
+    }
+
+    // Callers hold the write lock
+    private static void link(Point point, Map<UUID, Point> points, Map<Long, Set<UUID>> cells) {
+        UUID id = point.restaurant().getId();
+        Point previous = points.put(id, point);
+        if (previous != null)
+            unlink(previous, cells);
+        cells.computeIfAbsent(point.cell(), c -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static void unlink(Point point, Map<Long, Set<UUID>> cells) {
+        cells.computeIfPresent(point.cell(), (c, ids) -> {
+            ids.remove(point.restaurant().getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static int latIndex(double lat) {
+        return (int) Math.floor((lat + 90) / CELL_DEGREES);
+    }
+
+    private static int lonIndex(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
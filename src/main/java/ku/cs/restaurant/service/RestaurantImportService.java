@@ -0,0 +1,191 @@
+package ku.cs.restaurant.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import ku.cs.restaurant.dto.BatchImportError;
+import ku.cs.restaurant.dto.BatchImportResult;
+import ku.cs.restaurant.dto.RestaurantRequest;
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import: rows are validated and checked for duplicate names a chunk
+ * at a time, then each chunk is inserted in one transaction using JDBC
+ * batch inserts (see hibernate.jdbc.batch_size).
+ */
+@Service
+public class RestaurantImportService {
+
+    private final RestaurantRepository repository;
+    private final RestaurantSearchIndex searchIndex;
+    private final RestaurantGeoIndex geoIndex;
+    private final RestaurantCache cache;
+    private final CatalogVersion catalogVersion;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public RestaurantImportService(RestaurantRepository repository,
+                                   RestaurantSearchIndex searchIndex,
+                                   RestaurantGeoIndex geoIndex,
+                                   RestaurantCache cache,
+                                   CatalogVersion catalogVersion,
+                                   Validator validator,
+                                   TransactionTemplate transactionTemplate,
+                                   EntityManager entityManager,
+                                   ObjectMapper objectMapper,
+                                   @Value("${restaurant.import.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.cache = cache;
+        this.catalogVersion = catalogVersion;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    // Accepts a JSON array or newline-delimited JSON. Rows are parsed as they
+    // are read, so a large body is never held in memory whole. A row that does
+    // not map to a RestaurantRequest is reported and skipped; a syntax error
+    // ends the import, and chunks already committed stay committed.
+    public BatchImportResult importRestaurants(InputStream body) throws IOException {
+        BatchImportResult result = new BatchImportResult();
+        List<RestaurantRequest> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (MappingIterator<JsonNode> rows = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (true) {
+                JsonNode node;
+                try {
+                    if (!rows.hasNextValue())
+                        break;
+                    node = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    result.addError(index, null, "Malformed input: " + e.getOriginalMessage());
+                    break;
+                }
+                RestaurantRequest row = toRequest(node, index, result);
+                if (row != null) {
+                    chunk.add(row);
+                    chunkIndexes.add(index);
+                }
+                index++;
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, chunkIndexes, result);
+                    chunk.clear();
+                    chunkIndexes.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty())
+            importChunk(chunk, chunkIndexes, result);
+        result.getErrors().sort(Comparator.comparingInt(BatchImportError::getIndex));
+        return result;
+    }
+
+    private RestaurantRequest toRequest(JsonNode node, int index, BatchImportResult result) {
+        if (!node.isObject()) {
+            result.addError(index, null, "Row is not a JSON object");
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(node, RestaurantRequest.class);
+        } catch (JsonProcessingException e) {
+            result.addError(index, node.path("name").asText(null), "Invalid row: " + e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private void importChunk(List<RestaurantRequest> chunk, List<Integer> indexes, BatchImportResult result) {
+        // Every name in the chunk, checked against the table in one query
+        Set<String> names = new HashSet<>();
+        for (RestaurantRequest row : chunk)
+            if (row.getName() != null)
+                names.add(row.getName());
+        Set<String> taken = names.isEmpty() ? Set.of() : repository.findExistingNames(names);
+
+        Set<String> seen = new HashSet<>();
+        List<Restaurant> accepted = new ArrayList<>(chunk.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(chunk.size());
+        Instant now = Instant.now();
+        for (int i = 0; i < chunk.size(); i++) {
+            RestaurantRequest row = chunk.get(i);
+            int index = indexes.get(i);
+            Set<ConstraintViolation<RestaurantRequest>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                result.addError(index, row.getName(), violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+                continue;
+            }
+            if (taken.contains(row.getName()) || !seen.add(row.getName())) {
+                result.addError(index, row.getName(), "Restaurant name already exists");
+                continue;
+            }
+            accepted.add(toEntity(row, now));
+            acceptedIndexes.add(index);
+        }
+        if (accepted.isEmpty())
+            return;
+
+        List<Restaurant> saved;
+        try {
+            saved = transactionTemplate.execute(status -> repository.saveAll(accepted));
+        } catch (DataAccessException e) {
+            // A concurrent insert took one of the names; the whole chunk rolled back
+            for (int i = 0; i < accepted.size(); i++)
+                result.addError(acceptedIndexes.get(i), accepted.get(i).getName(),
+                        "Chunk rejected: " + e.getMostSpecificCause().getMessage());
+            return;
+        } finally {
+            // With open-in-view the request keeps one persistence context;
+            // drop the imported entities so it does not grow with the body
+            entityManager.clear();
+        }
+
+        catalogVersion.bump();
+        for (Restaurant record : saved) {
+            cache.invalidate(record);
+            searchIndex.put(record);
+            geoIndex.put(record);
+        }
+        result.addImported(saved.size());
+    }
+
+    private static Restaurant toEntity(RestaurantRequest request, Instant now) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName(request.getName());
+        restaurant.setRating(request.getRating());
+        restaurant.setLocation(request.getLocation());
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
+        restaurant.setCreatedAt(now);
+        restaurant.setUpdatedAt(now);
+        return restaurant;
+    }
+}
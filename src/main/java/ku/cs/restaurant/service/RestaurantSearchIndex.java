@@ -0,0 +1,241 @@
+package ku.cs.restaurant.service;
+
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process inverted index over restaurant name and location tokens.
+ * Tokens are kept sorted, so a prefix query is a range scan over the
+ * token map rather than a LIKE '%x%' scan in the database.
+ * Built once at startup and kept current by RestaurantService writes.
+ * Writes made on other nodes do not reach this copy directly: it is
+ * rebuilt when the shared CatalogVersion has moved, checked every
+ * restaurant.index.reconcile-interval ms, so it can lag another
+ * node's write by that interval plus restaurant.catalog-version.refresh.
+ */
+@Component
+public class RestaurantSearchIndex {
+
+    private final Logger logger = LoggerFactory.getLogger(RestaurantSearchIndex.class);
+
+    private final RestaurantRepository repository;
+    private final CatalogVersion catalogVersion;
+
+    // Result order; the id makes copies with the same name distinct
+    private static final Comparator<Restaurant> BY_NAME =
+            Comparator.comparing(Restaurant::getName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(Restaurant::getId);
+
+    private record Cursor(Restaurant head, Iterator<Restaurant> rest) {
+    }
+
+    // Restaurant id -> indexed copy; replaced as a whole by rebuild()
+    private volatile Map<UUID, Restaurant> documents = new ConcurrentHashMap<>();
+
+    // Lower-case token -> indexed copies containing it, in result order
+    private volatile ConcurrentSkipListMap<String, Set<Restaurant>> postings = new ConcurrentSkipListMap<>();
+
+    // Catalog version the last rebuild started from
+    private volatile long builtAtVersion = -1;
+
+    // Writes are rare; one lock keeps a document and its postings consistent
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public RestaurantSearchIndex(RestaurantRepository repository, CatalogVersion catalogVersion) {
+        this.repository = repository;
+        this.catalogVersion = catalogVersion;
+    }
+
+    // Builds fresh maps and swaps them in. The write lock is held from the
+    // read onwards, so a put() or remove() that lands meanwhile waits and is
+    // applied on top of the new maps instead of being overwritten by them.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            // Read before the rows: a write that lands in between only costs another rebuild
+            long version = catalogVersion.current();
+            Map<UUID, Restaurant> newDocuments = new ConcurrentHashMap<>();
+            ConcurrentSkipListMap<String, Set<Restaurant>> newPostings = new ConcurrentSkipListMap<>();
+            for (Restaurant restaurant : repository.findAll())
+                link(restaurant.copy(), newDocuments, newPostings);
+            postings = newPostings;
+            documents = newDocuments;
+            builtAtVersion = version;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Indexed {} restaurants for search in {} ms",
+                documents.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Picks up writes made on other nodes. Writes on this node move the
+    // version too, so a busy catalog is re-read at most once per interval.
+    @Scheduled(fixedDelayString = "${restaurant.index.reconcile-interval:30000}",
+            initialDelayString = "${restaurant.index.reconcile-interval:30000}")
+    public void reconcile() {
+        if (catalogVersion.current() != builtAtVersion)
+            rebuild();
+    }
+
+    // Add or replace a restaurant
+    public void put(Restaurant restaurant) {
+        Restaurant copy = restaurant.copy();
+        writeLock.lock();
+        try {
+            // Concurrent updates can arrive out of order; never go back to an older version
+            Restaurant indexed = documents.get(copy.getId());
+            if (indexed != null && indexed.getVersion() > copy.getVersion())
+                return;
+            link(copy, documents, postings);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        writeLock.lock();
+        try {
+            Restaurant previous = documents.remove(id);
+            if (previous != null)
+                unlink(previous, postings);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Case-insensitive token search: every query token must match a token
+     * of the restaurant's name or location, the last one as a prefix
+     * (typeahead). Results are ordered by name. The postings of the longest
+     * query token are walked in that order and checked against the other
+     * tokens, stopping at {@code limit} results, so a short prefix that
+     * matches most of the catalog costs about {@code limit} steps rather
+     * than a pass over every matching restaurant.
+     */
+    public List<Restaurant> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0)
+            return List.of();
+        Map<UUID, Restaurant> documents = this.documents;
+        ConcurrentSkipListMap<String, Set<Restaurant>> postings = this.postings;
+
+        // Longer tokens match fewer restaurants; on a tie an exact token beats the prefix
+        int last = queryTokens.size() - 1;
+        int driver = last;
+        for (int i = last - 1; i >= 0; i--) {
+            if (queryTokens.get(i).length() >= queryTokens.get(driver).length())
+                driver = i;
+        }
+        String driverToken = queryTokens.get(driver);
+        Collection<Set<Restaurant>> lists = driver == last
+                // All tokens in [token, token + U+FFFF) share the prefix
+                ? postings.subMap(driverToken, true, driverToken + Character.MAX_VALUE, false).values()
+                : postings.containsKey(driverToken) ? List.of(postings.get(driverToken)) : List.of();
+
+        // Merge the sorted posting lists; a restaurant under several of the
+        // prefix's tokens comes out of the merge once per token, back to back
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(Cursor::head, BY_NAME));
+        for (Set<Restaurant> list : lists) {
+            Iterator<Restaurant> rest = list.iterator();
+            if (rest.hasNext())
+                heads.add(new Cursor(rest.next(), rest));
+        }
+
+        List<Restaurant> results = new ArrayList<>(Math.min(limit, 64));
+        Restaurant previous = null;
+        while (!heads.isEmpty() && results.size() < limit) {
+            Cursor cursor = heads.poll();
+            if (cursor.rest().hasNext())
+                heads.add(new Cursor(cursor.rest().next(), cursor.rest()));
+            Restaurant candidate = cursor.head();
+            if (candidate == previous)
+                continue;
+            previous = candidate;
+            // Skips a copy replaced while this search was walking
+            if (documents.get(candidate.getId()) == candidate && matches(candidate, queryTokens, driver))
+                results.add(candidate.copy());
+        }
+        return results;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // Whether the restaurant satisfies every query token but the one walked
+    private static boolean matches(Restaurant restaurant, List<String> queryTokens, int skip) {
+        Collection<String> tokens = tokensOf(restaurant);
+        int last = queryTokens.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            if (i == skip)
+                continue;
+            String queryToken = queryTokens.get(i);
+            boolean found = i == last
+                    ? tokens.stream().anyMatch(token -> token.startsWith(queryToken))
+                    : tokens.contains(queryToken);
+            if (!found)
+                return false;
+        }
+        return true;
+    }
+
+    // Callers hold the write lock
+    private static void link(Restaurant copy, Map<UUID, Restaurant> documents,
+                             ConcurrentSkipListMap<String, Set<Restaurant>> postings) {
+        Restaurant previous = documents.put(copy.getId(), copy);
+        if (previous != null)
+            unlink(previous, postings);
+        for (String token : tokensOf(copy))
+            postings.computeIfAbsent(token, t -> new ConcurrentSkipListSet<>(BY_NAME)).add(copy);
+    }
+
+    private static void unlink(Restaurant restaurant, ConcurrentSkipListMap<String, Set<Restaurant>> postings) {
+        for (String token : tokensOf(restaurant)) {
+            postings.computeIfPresent(token, (t, copies) -> {
+                copies.remove(restaurant);
+                return copies.isEmpty() ? null : copies;
+            });
+        }
+    }
+
+    private static Collection<String> tokensOf(Restaurant restaurant) {
+        Set<String> tokens = new HashSet<>(tokenize(restaurant.getName()));
+        tokens.addAll(tokenize(restaurant.getLocation()));
+        return tokens;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null)
+            return List.of();
+        List<String> tokens = new ArrayList<>();
+        Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+        return tokens;
+    }
+}
@@ -2,34 +2,75 @@ package ku.cs.restaurant.service;
 
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import ku.cs.restaurant.dto.RestaurantPatchRequest;
+import ku.cs.restaurant.dto.NearbyRestaurant;
+import ku.cs.restaurant.dto.RestaurantLookup;
 import ku.cs.restaurant.dto.RestaurantRequest;
+import ku.cs.restaurant.dto.RestaurantSlice;
 import ku.cs.restaurant.entity.Restaurant;
 import ku.cs.restaurant.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Window;
 import jakarta.persistence.EntityExistsException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 
 @Service
 public class RestaurantService {
 
+    public static final int MAX_LOOKUP_IDS = 500;
 
     private RestaurantRepository repository;
+    private RestaurantSearchIndex searchIndex;
+    private RestaurantGeoIndex geoIndex;
+    private RestaurantCache cache;
+    private CatalogVersion catalogVersion;
 
 
     @Autowired
-    public RestaurantService(RestaurantRepository repository) {
+    public RestaurantService(RestaurantRepository repository,
+                             RestaurantSearchIndex searchIndex,
+                             RestaurantGeoIndex geoIndex,
+                             RestaurantCache cache,
+                             CatalogVersion catalogVersion) {
         this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.geoIndex = geoIndex;
+        this.cache = cache;
+        this.catalogVersion = catalogVersion;
     }
     public Page<Restaurant> getRestaurantsPage(PageRequest pageRequest) {
         return repository.findAll(pageRequest);
     }
 
+    // Keyset pagination: seeks past (sortKey, id) of the last row instead of
+    // using OFFSET, and runs no count query
+    public RestaurantSlice scrollRestaurants(RestaurantSortField sortField, int pageSize, String cursor) {
+        Window<Restaurant> window = repository.findBy(
+                RestaurantCursor.decode(sortField, cursor), sortField.toSort(), Limit.of(pageSize));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = RestaurantCursor.encode(sortField, last);
+        }
+        return new RestaurantSlice(window.getContent(), nextCursor, nextCursor != null);
+    }
+
 
     public Restaurant create(RestaurantRequest request) {
         if (repository.existsByName(request.getName()))
@@ -38,45 +79,126 @@ public class RestaurantService {
         restaurant.setName(request.getName());
         restaurant.setRating(request.getRating());
         restaurant.setLocation(request.getLocation());
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
 
 
         restaurant.setCreatedAt(  Instant.now()  );
         restaurant.setUpdatedAt(  restaurant.getCreatedAt()  );
         Restaurant record = repository.save(restaurant);
+        catalogVersion.bump();
+        cache.invalidate(record);
+        searchIndex.put(record);
+        geoIndex.put(record);
         return record;
     }
 
     public Restaurant update(Restaurant requestBody) {
         UUID id = requestBody.getId();
-        Restaurant record = repository.findById(id).get();
+        if (id == null)
+            throw new IllegalArgumentException("Restaurant id is mandatory");
+        Restaurant record = repository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Restaurant not found"));
+        Restaurant before = record.copy();
 
         record.setName(requestBody.getName());
         record.setRating(requestBody.getRating());
         record.setLocation(requestBody.getLocation());
+        record.setLatitude(requestBody.getLatitude());
+        record.setLongitude(requestBody.getLongitude());
         record.setUpdatedAt(Instant.now());
 
-        return repository.save(record);
+        Restaurant saved = repository.save(record);
+        catalogVersion.bump();
+        cache.invalidate(before);
+        cache.invalidate(saved);
+        searchIndex.put(saved);
+        geoIndex.put(saved);
+        return saved;
+    }
+
+
+    // Only the supplied fields change, in one conditional UPDATE; the row is
+    // read back afterwards for the response, caches and indexes
+    public Restaurant patch(UUID id, RestaurantPatchRequest request) {
+        int updated;
+        try {
+            updated = repository.patch(id, request.getVersion(), request.getName(), request.getRating(),
+                    request.getLocation(), request.getLatitude(), request.getLongitude(), Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new EntityExistsException("Restaurant name already exists");
+        }
+        if (updated == 0) {
+            if (!repository.existsById(id))
+                throw new EntityNotFoundException("Restaurant not found");
+            throw new OptimisticLockException("Restaurant was changed by someone else; reload and retry");
+        }
+
+        Restaurant saved = repository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Restaurant not found"));
+        catalogVersion.bump();
+        cache.invalidate(saved);
+        if (request.getName() != null)
+            cache.invalidateAllNames();
+        searchIndex.put(saved);
+        geoIndex.put(saved);
+        return saved;
     }
 
 
     public Restaurant delete(UUID id) {
-        Restaurant record = repository.findById(id).get();
+        Restaurant record = repository.findById(id).orElseThrow(() ->
+                new EntityNotFoundException("Restaurant not found"));
         repository.deleteById(id);
+        catalogVersion.bump();
+        cache.invalidate(record);
+        searchIndex.remove(id);
+        geoIndex.remove(id);
         return record;
     }
 
     public Restaurant getRestaurantById(UUID id) {
-        return repository.findById(id).orElseThrow(() ->
+        return cache.getById(id, repository::findById).orElseThrow(() ->
                 new EntityNotFoundException("Restaurant not found"));
     }
 
+    // Many ids at once: cache hits first, then one IN query for the rest.
+    // Keeps the request order (duplicates once) and lists ids that do not exist.
+    public RestaurantLookup getRestaurantsById(List<UUID> ids) {
+        Set<UUID> unique = new LinkedHashSet<>(ids);
+        if (unique.size() > MAX_LOOKUP_IDS)
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_IDS + " ids per lookup");
+
+        Map<UUID, Optional<Restaurant>> found = cache.getAllById(unique, repository::findAllById);
+        List<Restaurant> restaurants = new ArrayList<>(unique.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : unique) {
+            Optional<Restaurant> restaurant = found.getOrDefault(id, Optional.empty());
+            if (restaurant.isPresent())
+                restaurants.add(restaurant.get());
+            else
+                missing.add(id);
+        }
+        return new RestaurantLookup(restaurants, missing);
+    }
+
     public Restaurant getRestaurantByName(String name) {
-        return repository.findByName(name).orElseThrow(() ->
+        return cache.getByName(name, repository::findByName).orElseThrow(() ->
                 new EntityNotFoundException("Restaurant not found"));
     }
 
     public List<Restaurant> getRestaurantByLocation(String location) {
         return repository.findByLocation(location);
     }
+
+    // Prefix/token search over name and location, served from memory
+    public List<Restaurant> search(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    // k-nearest restaurants within radiusKm, served from memory
+    public List<NearbyRestaurant> nearby(double lat, double lon, double radiusKm, int limit) {
+        return geoIndex.nearest(lat, lon, radiusKm, limit);
+    }
 }
 
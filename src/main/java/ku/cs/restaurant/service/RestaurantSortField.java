@@ -0,0 +1,53 @@
+package ku.cs.restaurant.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Whitelist of restaurant fields that clients may sort and scroll by.
+ * Each one is backed by an index on (field, id) declared on Restaurant,
+ * so ordering never falls back to a full scan and sort.
+ */
+public enum RestaurantSortField {
+    NAME("name", "uk_restaurant_name", value -> value),
+    RATING("rating", "idx_restaurant_rating", Double::valueOf),
+    LOCATION("location", "idx_restaurant_location", value -> value),
+    CREATED_AT("createdAt", "idx_restaurant_created_at", Instant::parse);
+
+    private final String property;
+    private final String indexName;
+    private final Function<String, Object> parser;
+
+    RestaurantSortField(String property, String indexName, Function<String, Object> parser) {
+        this.property = property;
+        this.indexName = indexName;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    // Sort by the field, then id, matching the column order of the index
+    public Sort toSort() {
+        return Sort.by(property).and(Sort.by("id"));
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static RestaurantSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot sort by: " + property));
+    }
+}
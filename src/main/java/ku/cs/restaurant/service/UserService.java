@@ -4,6 +4,8 @@ package ku.cs.restaurant.service;
 import ku.cs.restaurant.dto.SignupRequest;
 import ku.cs.restaurant.entity.User;
 import ku.cs.restaurant.repository.UserRepository;
+import ku.cs.restaurant.security.PrincipalCache;
+import ku.cs.restaurant.security.SessionEpochs;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -14,17 +16,27 @@ import java.time.Instant;
 
 @Service
 public class UserService {
+    // Stored for Google-only accounts: not a valid Argon2 hash, so no password ever
+    // matches it, and creating the account costs no hashing
+    private static final String NO_PASSWORD = "!google-sign-in";
+
     private UserRepository userRepository;
     private PasswordEncoder encoder;
+    private PrincipalCache principalCache;
+    private SessionEpochs sessionEpochs;
 
 
     @Autowired
     public UserService(UserRepository userRepository,
-                       PasswordEncoder encoder) {
+                       PasswordEncoder encoder,
+                       PrincipalCache principalCache,
+                       SessionEpochs sessionEpochs) {
 
 
         this.userRepository = userRepository;
         this.encoder = encoder;
+        this.principalCache = principalCache;
+        this.sessionEpochs = sessionEpochs;
     }
 
     public boolean userExists(String username) {
@@ -48,6 +60,13 @@ public class UserService {
         userRepository.save(dao);
     }
 
+    // Invalidate every token issued to the user by bumping their session epoch
+    public void logoutEverywhere(String username) {
+        userRepository.incrementSessionEpoch(username);
+        sessionEpochs.invalidate(username);
+        principalCache.invalidate(username);
+    }
+
     public User findOrCreateGoogleUser(String email, String name) {
         User user = userRepository.findByUsername(email);
 
@@ -56,7 +75,7 @@ public class UserService {
             User newUser = new User();
             newUser.setUsername(email);
             newUser.setName(name);
-            newUser.setPassword(encoder.encode("NO_PASSWORD")); // Required by Spring Security
+            newUser.setPassword(NO_PASSWORD); // Required by Spring Security
             newUser.setRole("ROLE_USER");
             newUser.setCreatedAt(Instant.now());
             user = userRepository.save(newUser);
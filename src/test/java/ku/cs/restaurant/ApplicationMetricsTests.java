@@ -0,0 +1,28 @@
+package ku.cs.restaurant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-memory token store's eviction counts are exported, split by cause.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ApplicationMetricsTests {
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void tokenStoreEvictionsAreRegisteredByCause() {
+		assertThat(registry.find("restaurant.token.store.evictions").tag("cause", "expired").functionCounter())
+				.isNotNull();
+		assertThat(registry.find("restaurant.token.store.evictions").tag("cause", "capacity").functionCounter())
+				.isNotNull();
+	}
+}
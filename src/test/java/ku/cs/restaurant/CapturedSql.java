@@ -0,0 +1,36 @@
+package ku.cs.restaurant;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate sends to the database, so tests can check the
+ * statements the application really runs. Registered with
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class CapturedSql implements StatementInspector {
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+	@Override
+	public String inspect(String sql) {
+		statements.add(sql);
+		return sql;
+	}
+
+	public static void clear() {
+		statements.clear();
+	}
+
+	// The only SELECT since the last clear()
+	public static String singleSelect() {
+		List<String> selects = statements.stream()
+				.filter(sql -> sql.regionMatches(true, 0, "select", 0, 6))
+				.toList();
+		if (selects.size() != 1)
+			throw new IllegalStateException("Expected one SELECT, captured " + selects);
+		return selects.get(0);
+	}
+}
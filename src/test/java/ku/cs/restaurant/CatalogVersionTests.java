@@ -0,0 +1,41 @@
+package ku.cs.restaurant;
+
+import ku.cs.restaurant.service.CatalogVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two CatalogVersion instances on one datasource stand in for two nodes:
+ * they hand out the same ETag, and a write on one changes the other's
+ * ETag within the refresh time, so neither answers 304 for a stale list.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogVersionTests {
+
+	private static final long REFRESH_MS = 100;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void nodesShareTheVersion() throws InterruptedException {
+		CatalogVersion nodeA = new CatalogVersion(jdbcTemplate, REFRESH_MS);
+		CatalogVersion nodeB = new CatalogVersion(jdbcTemplate, REFRESH_MS);
+		String before = nodeB.eTag(nodeB.current(), 0, 10, "name");
+		assertThat(nodeA.eTag(nodeA.current(), 0, 10, "name")).isEqualTo(before);
+
+		nodeA.bump();
+
+		String afterOnA = nodeA.eTag(nodeA.current(), 0, 10, "name");
+		assertThat(afterOnA).isNotEqualTo(before);
+		Thread.sleep(REFRESH_MS * 3);
+		assertThat(nodeB.eTag(nodeB.current(), 0, 10, "name")).isEqualTo(afterOnA);
+		assertThat(nodeB.lastModifiedMs()).isEqualTo(nodeA.lastModifiedMs());
+	}
+}
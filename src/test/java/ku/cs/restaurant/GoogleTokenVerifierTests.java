@@ -0,0 +1,147 @@
+package ku.cs.restaurant;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import ku.cs.restaurant.security.GoogleTokenVerifier;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.bouncycastle.asn1.x509.Time;
+import org.bouncycastle.asn1.x509.V1TBSCertificateGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies Google ID tokens against a local stand-in for Google's certificate
+ * endpoint, so no network is needed, and checks that the signing certificates
+ * are fetched once and then served from cache.
+ */
+class GoogleTokenVerifierTests {
+
+	private static final String CLIENT_ID = "test-client";
+	private static final String KEY_ID = "test-key";
+
+	private final AtomicInteger certFetches = new AtomicInteger();
+	private KeyPair keyPair;
+	private HttpServer server;
+	private GoogleTokenVerifier verifier;
+
+	@BeforeEach
+	void startCertServer() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		keyPair = generator.generateKeyPair();
+		byte[] certs = ("{\"" + KEY_ID + "\": \"" + selfSignedCertificatePem(keyPair).replace("\n", "\\n") + "\"}")
+				.getBytes(StandardCharsets.UTF_8);
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/certs", exchange -> {
+			certFetches.incrementAndGet();
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+			exchange.sendResponseHeaders(200, certs.length);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(certs);
+			}
+		});
+		server.start();
+
+		verifier = new GoogleTokenVerifier(CLIENT_ID,
+				"http://localhost:" + server.getAddress().getPort() + "/certs");
+	}
+
+	@AfterEach
+	void stopCertServer() {
+		server.stop(0);
+	}
+
+	@Test
+	void verifiesTokensWithCachedCertificates() throws Exception {
+		GoogleIdToken first = verifier.verify(idToken(CLIENT_ID, "alice@example.com"));
+		GoogleIdToken second = verifier.verify(idToken(CLIENT_ID, "bob@example.com"));
+		verifier.refreshKeys();
+
+		assertThat(first).isNotNull();
+		assertThat(first.getPayload().getEmail()).isEqualTo("alice@example.com");
+		assertThat(second).isNotNull();
+		assertThat(certFetches.get()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsTokenForAnotherAudience() throws Exception {
+		assertThat(verifier.verify(idToken("someone-else", "alice@example.com"))).isNull();
+	}
+
+	@Test
+	void backgroundRefreshWaitsForFirstLogin() {
+		verifier.refreshKeys();
+
+		assertThat(certFetches.get()).isZero();
+	}
+
+	private String idToken(String audience, String email) {
+		Instant now = Instant.now();
+		return Jwts.builder()
+				.header().keyId(KEY_ID).and()
+				.issuer("https://accounts.google.com")
+				.audience().add(audience).and()
+				.subject("1234567890")
+				.claim("email", email)
+				.issuedAt(Date.from(now))
+				.expiration(Date.from(now.plusSeconds(3600)))
+				.signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+				.compact();
+	}
+
+	// Minimal self-signed X.509 certificate, in the PEM form Google serves
+	private static String selfSignedCertificatePem(KeyPair keyPair) throws Exception {
+		AlgorithmIdentifier sha256WithRsa =
+				new AlgorithmIdentifier(PKCSObjectIdentifiers.sha256WithRSAEncryption, DERNull.INSTANCE);
+		X500Name name = new X500Name("CN=test");
+		Instant now = Instant.now();
+
+		V1TBSCertificateGenerator tbs = new V1TBSCertificateGenerator();
+		tbs.setSerialNumber(new ASN1Integer(1));
+		tbs.setSignature(sha256WithRsa);
+		tbs.setIssuer(name);
+		tbs.setSubject(name);
+		tbs.setStartDate(new Time(Date.from(now.minusSeconds(3600))));
+		tbs.setEndDate(new Time(Date.from(now.plusSeconds(86400))));
+		tbs.setSubjectPublicKeyInfo(SubjectPublicKeyInfo.getInstance(keyPair.getPublic().getEncoded()));
+		TBSCertificate certificate = tbs.generateTBSCertificate();
+
+		Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initSign(keyPair.getPrivate());
+		signature.update(certificate.getEncoded());
+
+		ASN1EncodableVector parts = new ASN1EncodableVector();
+		parts.add(certificate);
+		parts.add(sha256WithRsa);
+		parts.add(new DERBitString(signature.sign()));
+		String base64 = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII))
+				.encodeToString(new DERSequence(parts).getEncoded());
+		return "-----BEGIN CERTIFICATE-----\n" + base64 + "\n-----END CERTIFICATE-----\n";
+	}
+}
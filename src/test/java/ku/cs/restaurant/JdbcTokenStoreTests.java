@@ -0,0 +1,91 @@
+package ku.cs.restaurant;
+
+import ku.cs.restaurant.security.JdbcTokenStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two JdbcTokenStore instances on one datasource stand in for two nodes
+ * behind a load balancer: a session created on one is accepted by the
+ * other, and a logout on one is seen by the other within the refresh time.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcTokenStoreTests {
+
+	private static final long REFRESH_MS = 100;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private JdbcTokenStore nodeA;
+	private JdbcTokenStore nodeB;
+
+	@BeforeEach
+	void startNodes() {
+		nodeA = node();
+		nodeB = node();
+	}
+
+	@AfterEach
+	void stopNodes() throws InterruptedException {
+		nodeA.shutdown();
+		nodeB.shutdown();
+	}
+
+	@Test
+	void sessionCreatedOnOneNodeIsActiveOnTheOther() {
+		String tokenId = UUID.randomUUID().toString();
+		nodeA.register(tokenId, System.currentTimeMillis() + 60_000);
+
+		assertThat(nodeB.isActive(tokenId)).isTrue();
+	}
+
+	@Test
+	void revokeOnOneNodeIsSeenByTheOther() throws InterruptedException {
+		String tokenId = UUID.randomUUID().toString();
+		nodeA.register(tokenId, System.currentTimeMillis() + 60_000);
+		// Node B has the session in its near-cache
+		assertThat(nodeB.isActive(tokenId)).isTrue();
+
+		nodeA.revoke(tokenId);
+
+		assertThat(nodeA.isActive(tokenId)).isFalse();
+		Thread.sleep(REFRESH_MS * 3);
+		assertThat(nodeB.isActive(tokenId)).isFalse();
+	}
+
+	@Test
+	void expiredSessionIsNotActive() {
+		String tokenId = UUID.randomUUID().toString();
+		nodeA.register(tokenId, System.currentTimeMillis() - 1);
+
+		assertThat(nodeB.isActive(tokenId)).isFalse();
+	}
+
+	@Test
+	void sizeIsCountedAtPurgeNotPerCall() {
+		nodeA.purgeExpired();
+		int before = nodeA.size();
+		nodeA.register(UUID.randomUUID().toString(), System.currentTimeMillis() + 60_000);
+
+		assertThat(nodeA.size()).isEqualTo(before);
+		nodeA.purgeExpired();
+		assertThat(nodeA.size()).isEqualTo(before + 1);
+	}
+
+	private JdbcTokenStore node() {
+		JdbcTokenStore store = new JdbcTokenStore(jdbcTemplate, 100, 5000, REFRESH_MS, 1000);
+		store.init();
+		return store;
+	}
+}
@@ -0,0 +1,53 @@
+package ku.cs.restaurant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against the embedded Tomcat, so requests pass through the
+ * forwarded-header handling: this test connects from loopback, a trusted
+ * proxy, and each X-Forwarded-For address is throttled on its own.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"server.ssl.enabled=false",
+		"security.login-throttle.per-ip=3",
+		"security.login-throttle.per-username=100"
+})
+@ActiveProfiles("test")
+class LoginThrottleTests {
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void clientsBehindTheProxyAreThrottledIndependently() throws Exception {
+		for (int i = 0; i < 3; i++)
+			assertThat(login("203.0.113.10")).isNotEqualTo(TOO_MANY_REQUESTS);
+		assertThat(login("203.0.113.10")).isEqualTo(TOO_MANY_REQUESTS);
+
+		// Same proxy connection, different client
+		assertThat(login("203.0.113.20")).isNotEqualTo(TOO_MANY_REQUESTS);
+	}
+
+	private int login(String clientAddress) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.header("X-Forwarded-For", clientAddress)
+				.POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"nobody\",\"password\":\"wrong-password\"}"))
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
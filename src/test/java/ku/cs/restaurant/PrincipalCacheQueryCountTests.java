@@ -0,0 +1,78 @@
+package ku.cs.restaurant;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import ku.cs.restaurant.security.PrincipalCache;
+import ku.cs.restaurant.security.SessionEpochs;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements an authenticated request costs on the auth
+ * path. /api/auth/me itself runs no query, so anything counted comes from
+ * the filter: one lookup on a cold principal cache, none once it is warm.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PrincipalCacheQueryCountTests {
+
+	private static final String USERNAME = "cachecount";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Autowired
+	private SessionEpochs sessionEpochs;
+
+	@Test
+	void warmPrincipalCacheRunsNoQueries() throws Exception {
+		Cookie token = signUpAndLogIn();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// Cold caches: the filter has to read the user
+		principalCache.invalidate(USERNAME);
+		sessionEpochs.invalidate(USERNAME);
+		statistics.clear();
+		mockMvc.perform(get("/api/auth/me").cookie(token)).andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).isPositive();
+
+		// Warm caches: two more requests, no SQL at all
+		statistics.clear();
+		mockMvc.perform(get("/api/auth/me").cookie(token)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/auth/me").cookie(token)).andExpect(status().isOk());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	private Cookie signUpAndLogIn() throws Exception {
+		mockMvc.perform(post("/api/auth/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + USERNAME + "\",\"password\":\"password123\",\"name\":\"Cache\"}"))
+				.andExpect(status().isOk());
+		Cookie token = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + USERNAME + "\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getCookie("token");
+		assertThat(token).isNotNull();
+		return token;
+	}
+}
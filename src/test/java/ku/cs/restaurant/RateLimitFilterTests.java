@@ -0,0 +1,51 @@
+package ku.cs.restaurant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Anonymous requests are limited per client address. Through the embedded
+ * Tomcat, from loopback (a trusted proxy), that is the X-Forwarded-For
+ * address, so two clients behind one proxy get separate budgets.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"server.ssl.enabled=false",
+		"security.rate-limit.read.rate=1",
+		"security.rate-limit.read.burst=2"
+})
+@ActiveProfiles("test")
+class RateLimitFilterTests {
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void clientsBehindTheProxyHaveSeparateBudgets() throws Exception {
+		assertThat(list("198.51.100.10")).isNotEqualTo(TOO_MANY_REQUESTS);
+		assertThat(list("198.51.100.10")).isNotEqualTo(TOO_MANY_REQUESTS);
+		assertThat(list("198.51.100.10")).isEqualTo(TOO_MANY_REQUESTS);
+
+		assertThat(list("198.51.100.20")).isNotEqualTo(TOO_MANY_REQUESTS);
+	}
+
+	private int list(String clientAddress) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/restaurants"))
+				.header("X-Forwarded-For", clientAddress)
+				.GET()
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
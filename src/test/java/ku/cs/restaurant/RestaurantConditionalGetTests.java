@@ -0,0 +1,132 @@
+package ku.cs.restaurant;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import ku.cs.restaurant.entity.User;
+import ku.cs.restaurant.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs: a client that sends back the ETag it was given gets
+ * 304 for a single restaurant and for a list page, and a write changes
+ * both ETags so the next conditional GET returns the new body.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantConditionalGetTests {
+
+	private static final String PAGE = "/api/restaurants?offset=0&pageSize=10&sortBy=name";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// One admin for the class; JUnit makes a new instance per test
+	private static Cookie token;
+
+	@BeforeEach
+	void logIn() throws Exception {
+		if (token == null)
+			token = signUpAdminAndLogIn();
+	}
+
+	@Test
+	void matchingETagOnSingleRestaurantIsNotModified() throws Exception {
+		String id = create("Conditional Noodles").get("id").asText();
+
+		String eTag = eTagOf(get("/api/restaurants/" + id));
+
+		mockMvc.perform(get("/api/restaurants/" + id).cookie(token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void matchingETagOnListPageIsNotModified() throws Exception {
+		create("Conditional Curry");
+
+		String eTag = eTagOf(get(PAGE));
+
+		mockMvc.perform(get(PAGE).cookie(token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void updateChangesTheETags() throws Exception {
+		JsonNode created = create("Conditional Grill");
+		String id = created.get("id").asText();
+		String restaurantETag = eTagOf(get("/api/restaurants/" + id));
+		String pageETag = eTagOf(get(PAGE));
+
+		mockMvc.perform(patch("/api/restaurants/" + id).cookie(token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"version\":" + created.get("version").asLong() + ",\"rating\":5}"))
+				.andExpect(status().isOk());
+
+		String newRestaurantETag = mockMvc.perform(get("/api/restaurants/" + id).cookie(token)
+						.header(HttpHeaders.IF_NONE_MATCH, restaurantETag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(newRestaurantETag).isNotNull().isNotEqualTo(restaurantETag);
+
+		String newPageETag = mockMvc.perform(get(PAGE).cookie(token).header(HttpHeaders.IF_NONE_MATCH, pageETag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(newPageETag).isNotNull().isNotEqualTo(pageETag);
+	}
+
+	private String eTagOf(MockHttpServletRequestBuilder request) throws Exception {
+		String eTag = mockMvc.perform(request.cookie(token))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(eTag).isNotNull();
+		return eTag;
+	}
+
+	private JsonNode create(String name) throws Exception {
+		String body = mockMvc.perform(post("/api/restaurants").cookie(token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"" + name + "\",\"rating\":4,\"location\":\"Bangkok\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private Cookie signUpAdminAndLogIn() throws Exception {
+		mockMvc.perform(post("/api/auth/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"etagadmin\",\"password\":\"password123\",\"name\":\"Etag\"}"))
+				.andExpect(status().isOk());
+		User user = userRepository.findByUsername("etagadmin");
+		user.setRole("ROLE_ADMIN");
+		userRepository.save(user);
+		Cookie cookie = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"etagadmin\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getCookie("token");
+		assertThat(cookie).isNotNull();
+		return cookie;
+	}
+}
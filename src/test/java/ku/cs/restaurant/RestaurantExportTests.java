@@ -0,0 +1,111 @@
+package ku.cs.restaurant;
+
+import jakarta.servlet.http.Cookie;
+import ku.cs.restaurant.entity.User;
+import ku.cs.restaurant.repository.UserRepository;
+import ku.cs.restaurant.service.RestaurantExportFormat;
+import ku.cs.restaurant.service.RestaurantExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export holds a pooled connection for the whole stream, so it is
+ * admin-only and capped at restaurant.export.max-concurrent at a time.
+ */
+@SpringBootTest(properties = "restaurant.export.max-concurrent=1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RestaurantExportService exportService;
+
+	@Test
+	void userCannotExport() throws Exception {
+		Cookie token = signUpAndLogIn("exportuser", false);
+
+		mockMvc.perform(get("/api/restaurants/export").cookie(token)).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void exportBeyondTheLimitIsRefused() throws Exception {
+		Cookie token = signUpAndLogIn("exportadmin", true);
+
+		// Hold the only permit: this export blocks on its first write
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		OutputStream stalled = new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws InterruptedIOException {
+				writing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new InterruptedIOException();
+				}
+			}
+		};
+		Thread running = Thread.ofVirtual().start(() -> {
+			try {
+				exportService.export(RestaurantExportFormat.CSV, stalled);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+		mockMvc.perform(get("/api/restaurants/export").cookie(token))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+		release.countDown();
+		running.join();
+		mockMvc.perform(get("/api/restaurants/export").cookie(token)).andExpect(status().isOk());
+	}
+
+	private Cookie signUpAndLogIn(String username, boolean admin) throws Exception {
+		mockMvc.perform(post("/api/auth/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + username + "\",\"password\":\"password123\",\"name\":\"Export\"}"))
+				.andExpect(status().isOk());
+		if (admin) {
+			User user = userRepository.findByUsername(username);
+			user.setRole("ROLE_ADMIN");
+			userRepository.save(user);
+		}
+		Cookie token = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getCookie("token");
+		assertThat(token).isNotNull();
+		return token;
+	}
+}
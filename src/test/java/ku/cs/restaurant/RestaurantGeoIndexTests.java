@@ -0,0 +1,105 @@
+package ku.cs.restaurant;
+
+import ku.cs.restaurant.dto.NearbyRestaurant;
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.service.RestaurantGeoIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Nearest-neighbour queries where grid cells are not square: across the
+ * antimeridian, near the poles where a cell is only metres wide, and at
+ * the pole itself. The index is used directly, without a database.
+ */
+class RestaurantGeoIndexTests {
+
+	private final RestaurantGeoIndex index = new RestaurantGeoIndex(null, null);
+
+	@Test
+	void findsRestaurantAcrossTheAntimeridian() {
+		put("Fiji East", -17.0, -179.99);
+
+		List<NearbyRestaurant> found = index.nearest(-17.0, 179.99, 5, 10);
+
+		assertThat(found).extracting(nearby -> nearby.getRestaurant().getName()).containsExactly("Fiji East");
+		assertThat(found.get(0).getDistanceKm()).isLessThan(3);
+	}
+
+	@Test
+	void findsRestaurantOnTheFarSideOfThePole() {
+		// 0.01 degrees either side of the north pole: about 2.2 km apart,
+		// but half the world's longitude cells away
+		put("Across", 89.99, 180.0);
+		put("Too far", 89.5, 0.0);
+
+		List<NearbyRestaurant> found = index.nearest(89.99, 0.0, 5, 10);
+
+		assertThat(found).extracting(nearby -> nearby.getRestaurant().getName()).containsExactly("Across");
+	}
+
+	@Test
+	void queryAtThePoleSeesEveryLongitude() {
+		put("East", 89.98, 90.0);
+		put("West", 89.97, -90.0);
+		put("Dateline", 89.99, 180.0);
+
+		List<NearbyRestaurant> found = index.nearest(90.0, 0.0, 5, 10);
+
+		assertThat(found).extracting(nearby -> nearby.getRestaurant().getName())
+				.containsExactly("Dateline", "East", "West");
+	}
+
+	@Test
+	void keepsTheNearestWithinTheLimit() {
+		put("Near", 13.751, 100.5);
+		put("Middle", 13.76, 100.5);
+		put("Far", 13.8, 100.5);
+
+		List<NearbyRestaurant> found = index.nearest(13.75, 100.5, 20, 2);
+
+		assertThat(found).extracting(nearby -> nearby.getRestaurant().getName()).containsExactly("Near", "Middle");
+	}
+
+	@Test
+	void olderVersionDoesNotMoveRestaurantBack() {
+		Restaurant moved = put("Moved", 13.75, 100.5);
+		moved.setVersion(2);
+		index.put(moved);
+
+		Restaurant stale = moved.copy();
+		stale.setLatitude(18.79);
+		stale.setLongitude(98.98);
+		stale.setVersion(1);
+		index.put(stale);
+
+		assertThat(index.nearest(18.79, 98.98, 5, 10)).isEmpty();
+		assertThat(index.nearest(13.75, 100.5, 5, 10)).hasSize(1);
+	}
+
+	@Test
+	void nearPoleQueryWithLargeRadiusStaysCheap() {
+		for (int i = 0; i < 1000; i++)
+			put("Polar " + i, 89.0 + (i % 10) * 0.1, -180.0 + i * 0.36);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+			for (int i = 0; i < 20; i++)
+				index.nearest(89.95, 0.0, 100, 50);
+		});
+	}
+
+	private Restaurant put(String name, double latitude, double longitude) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(UUID.randomUUID());
+		restaurant.setName(name);
+		restaurant.setLatitude(latitude);
+		restaurant.setLongitude(longitude);
+		index.put(restaurant);
+		return restaurant;
+	}
+}
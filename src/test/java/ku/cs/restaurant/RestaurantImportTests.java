@@ -0,0 +1,175 @@
+package ku.cs.restaurant;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import ku.cs.restaurant.entity.User;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import ku.cs.restaurant.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/restaurants/batch end to end, with two rows per chunk: both
+ * body formats, per-row validation and duplicate-name errors, and a chunk
+ * whose insert fails rolling back alone while earlier and later chunks
+ * stay committed.
+ */
+@SpringBootTest(properties = "restaurant.import.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RestaurantImportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RestaurantRepository restaurantRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// One admin for the class; JUnit makes a new instance per test
+	private static Cookie token;
+
+	@BeforeEach
+	void logIn() throws Exception {
+		if (token == null)
+			token = signUpAdminAndLogIn();
+	}
+
+	@Test
+	void importsJsonArray() throws Exception {
+		JsonNode result = importRows(MediaType.APPLICATION_JSON, "["
+				+ row("Array One", 4) + ","
+				+ row("Array Two", 3) + ","
+				+ row("Array Three", 5) + "]");
+
+		assertThat(result.get("imported").asInt()).isEqualTo(3);
+		assertThat(result.get("failed").asInt()).isZero();
+		assertThat(restaurantRepository.findExistingNames(List.of("Array One", "Array Two", "Array Three")))
+				.hasSize(3);
+	}
+
+	@Test
+	void importsNdjson() throws Exception {
+		JsonNode result = importRows(MediaType.APPLICATION_NDJSON,
+				row("Lines One", 4) + "\n" + row("Lines Two", 3) + "\n" + row("Lines Three", 5) + "\n");
+
+		assertThat(result.get("imported").asInt()).isEqualTo(3);
+		assertThat(result.get("failed").asInt()).isZero();
+		assertThat(restaurantRepository.findExistingNames(List.of("Lines One", "Lines Two", "Lines Three")))
+				.hasSize(3);
+	}
+
+	@Test
+	void reportsInvalidRowsByIndex() throws Exception {
+		JsonNode result = importRows(MediaType.APPLICATION_JSON, "["
+				+ row("Valid First", 4) + ","
+				+ "{\"name\":\" \",\"rating\":4,\"location\":\"Bangkok\"}" + ","
+				+ row("Too Good", 9) + ","
+				+ "42" + ","
+				+ row("Valid Last", 2) + "]");
+
+		assertThat(result.get("imported").asInt()).isEqualTo(2);
+		assertThat(result.get("failed").asInt()).isEqualTo(3);
+		JsonNode errors = result.get("errors");
+		assertThat(errors.get(0).get("index").asInt()).isEqualTo(1);
+		assertThat(errors.get(0).get("message").asText()).isEqualTo("Name is mandatory");
+		assertThat(errors.get(1).get("index").asInt()).isEqualTo(2);
+		assertThat(errors.get(1).get("name").asText()).isEqualTo("Too Good");
+		assertThat(errors.get(1).get("message").asText()).isEqualTo("Rating cannot exceed 5");
+		assertThat(errors.get(2).get("index").asInt()).isEqualTo(3);
+		assertThat(errors.get(2).get("message").asText()).isEqualTo("Row is not a JSON object");
+		assertThat(restaurantRepository.findExistingNames(List.of("Valid First", "Valid Last"))).hasSize(2);
+	}
+
+	@Test
+	void reportsDuplicateNamesByIndex() throws Exception {
+		importRows(MediaType.APPLICATION_JSON, "[" + row("Already Here", 4) + "]");
+
+		JsonNode result = importRows(MediaType.APPLICATION_JSON, "["
+				+ row("Already Here", 3) + ","
+				+ row("Twice", 4) + ","
+				+ row("Twice", 5) + "]");
+
+		assertThat(result.get("imported").asInt()).isEqualTo(1);
+		assertThat(result.get("failed").asInt()).isEqualTo(2);
+		JsonNode errors = result.get("errors");
+		assertThat(errors.get(0).get("index").asInt()).isZero();
+		assertThat(errors.get(0).get("name").asText()).isEqualTo("Already Here");
+		assertThat(errors.get(0).get("message").asText()).isEqualTo("Restaurant name already exists");
+		assertThat(errors.get(1).get("index").asInt()).isEqualTo(2);
+		assertThat(errors.get(1).get("name").asText()).isEqualTo("Twice");
+		assertThat(errors.get(1).get("message").asText()).isEqualTo("Restaurant name already exists");
+	}
+
+	@Test
+	void failedChunkRollsBackAlone() throws Exception {
+		// Passes validation but not the 255-character location column, so the
+		// second chunk's insert fails after the first chunk has committed
+		String tooLong = "x".repeat(300);
+		JsonNode result = importRows(MediaType.APPLICATION_JSON, "["
+				+ row("Chunk One", 4) + ","
+				+ row("Chunk Two", 4) + ","
+				+ row("Chunk Three", 4) + ","
+				+ "{\"name\":\"Chunk Four\",\"rating\":4,\"location\":\"" + tooLong + "\"}" + ","
+				+ row("Chunk Five", 4) + "]");
+
+		assertThat(result.get("imported").asInt()).isEqualTo(3);
+		assertThat(result.get("failed").asInt()).isEqualTo(2);
+		JsonNode errors = result.get("errors");
+		assertThat(errors.get(0).get("index").asInt()).isEqualTo(2);
+		assertThat(errors.get(0).get("message").asText()).startsWith("Chunk rejected");
+		assertThat(errors.get(1).get("index").asInt()).isEqualTo(3);
+		assertThat(errors.get(1).get("message").asText()).startsWith("Chunk rejected");
+		assertThat(restaurantRepository.findExistingNames(
+				List.of("Chunk One", "Chunk Two", "Chunk Three", "Chunk Four", "Chunk Five")))
+				.containsExactlyInAnyOrder("Chunk One", "Chunk Two", "Chunk Five");
+	}
+
+	private JsonNode importRows(MediaType contentType, String body) throws Exception {
+		String response = mockMvc.perform(post("/api/restaurants/batch").cookie(token)
+						.contentType(contentType)
+						.content(body))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(response);
+	}
+
+	private static String row(String name, int rating) {
+		return "{\"name\":\"" + name + "\",\"rating\":" + rating + ",\"location\":\"Bangkok\"}";
+	}
+
+	private Cookie signUpAdminAndLogIn() throws Exception {
+		mockMvc.perform(post("/api/auth/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"importadmin\",\"password\":\"password123\",\"name\":\"Import\"}"))
+				.andExpect(status().isOk());
+		User user = userRepository.findByUsername("importadmin");
+		user.setRole("ROLE_ADMIN");
+		userRepository.save(user);
+		Cookie cookie = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"importadmin\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getCookie("token");
+		assertThat(cookie).isNotNull();
+		return cookie;
+	}
+}
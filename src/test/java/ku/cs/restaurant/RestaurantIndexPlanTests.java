@@ -0,0 +1,95 @@
+package ku.cs.restaurant;
+
+import ku.cs.restaurant.repository.RestaurantRepository;
+import ku.cs.restaurant.service.RestaurantSortField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that restaurant queries are planned against the declared indexes
+ * (H2 EXPLAIN), so a schema or sort change that falls back to a full scan fails here.
+ * The statements explained are the ones Hibernate generates, captured by
+ * {@link CapturedSql} while the repository method runs.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=ku.cs.restaurant.CapturedSql")
+@ActiveProfiles("test")
+class RestaurantIndexPlanTests {
+
+	private static final int LIMIT = 10;
+
+	@Autowired
+	private RestaurantRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void clearCapturedSql() {
+		CapturedSql.clear();
+	}
+
+	@ParameterizedTest
+	@EnumSource(RestaurantSortField.class)
+	void sortFieldOrdersByItsIndex(RestaurantSortField field) {
+		repository.findBy(ScrollPosition.keyset(), field.toSort(), Limit.of(LIMIT));
+		String plan = explain(CapturedSql.singleSelect(), LIMIT);
+
+		assertThat(plan).containsIgnoringCase(field.getIndexName());
+		assertThat(plan).containsIgnoringCase("index sorted");
+	}
+
+	@ParameterizedTest
+	@EnumSource(RestaurantSortField.class)
+	void keysetSeekUsesIndex(RestaurantSortField field) {
+		Object value = sampleValue(field);
+		UUID id = UUID.randomUUID();
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put(field.getProperty(), value);
+		keys.put("id", id);
+		repository.findBy(ScrollPosition.forward(keys), field.toSort(), Limit.of(LIMIT));
+		// Parameters in the order the generated seek predicate uses them:
+		// field > ? or field = ? and id > ?, then the row limit
+		Object bound = value instanceof Instant instant ? Timestamp.from(instant) : value;
+		String plan = explain(CapturedSql.singleSelect(), bound, bound, id, LIMIT);
+
+		assertThat(plan).containsIgnoringCase(field.getIndexName());
+	}
+
+	@Test
+	void findByLocationUsesIndex() {
+		repository.findByLocation("Bangkok");
+		String plan = explain(CapturedSql.singleSelect(), "Bangkok");
+
+		assertThat(plan).containsIgnoringCase("idx_restaurant_location");
+	}
+
+	// Fails rather than explaining a statement with unbound parameters
+	private String explain(String sql, Object... args) {
+		assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(args.length);
+		return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+	}
+
+	private static Object sampleValue(RestaurantSortField field) {
+		return switch (field) {
+			case RATING -> 3.0;
+			case CREATED_AT -> Instant.now();
+			default -> "M";
+		};
+	}
+}
@@ -0,0 +1,113 @@
+package ku.cs.restaurant;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import ku.cs.restaurant.dto.RestaurantPatchRequest;
+import ku.cs.restaurant.dto.RestaurantRequest;
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.repository.RestaurantRepository;
+import ku.cs.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Many threads increment a counter kept in one restaurant's location using
+ * read-then-PATCH with the version they read. Every conflict is retried, so
+ * any lost update shows up as a final count below the number of increments.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RestaurantPatchConcurrencyTests {
+
+	private static final int THREADS = 8;
+	private static final int INCREMENTS_PER_THREAD = 25;
+
+	@Autowired
+	private RestaurantService service;
+
+	@Autowired
+	private RestaurantRepository repository;
+
+	@Test
+	void concurrentPatchesNeverLoseAnUpdate() throws Exception {
+		Restaurant restaurant = service.create(request("Patch Counter " + UUID.randomUUID(), "0"));
+		UUID id = restaurant.getId();
+		CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				workers.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+						while (true) {
+							Restaurant current = repository.findById(id).orElseThrow();
+							RestaurantPatchRequest patch = new RestaurantPatchRequest();
+							patch.setVersion(current.getVersion());
+							patch.setLocation(String.valueOf(Integer.parseInt(current.getLocation()) + 1));
+							try {
+								service.patch(id, patch);
+								break;
+							} catch (OptimisticLockException e) {
+								// Someone else got there first; read again and retry
+							}
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> worker : workers)
+				worker.get();
+		} finally {
+			pool.shutdown();
+		}
+
+		int total = THREADS * INCREMENTS_PER_THREAD;
+		Restaurant result = repository.findById(id).orElseThrow();
+		assertThat(result.getLocation()).isEqualTo(String.valueOf(total));
+		assertThat(result.getVersion()).isEqualTo(restaurant.getVersion() + total);
+		assertThat(result.getName()).isEqualTo(restaurant.getName());
+		assertThat(service.getRestaurantById(id).getVersion()).isEqualTo(result.getVersion());
+	}
+
+	@Test
+	void stalePatchConflictsAndMissingIdIsNotFound() {
+		Restaurant restaurant = service.create(request("Patch Stale " + UUID.randomUUID(), "Bangkok"));
+
+		RestaurantPatchRequest first = new RestaurantPatchRequest();
+		first.setVersion(restaurant.getVersion());
+		first.setRating(5.0);
+		assertThat(service.patch(restaurant.getId(), first).getRating()).isEqualTo(5.0);
+
+		RestaurantPatchRequest stale = new RestaurantPatchRequest();
+		stale.setVersion(restaurant.getVersion());
+		stale.setRating(1.0);
+		assertThatThrownBy(() -> service.patch(restaurant.getId(), stale))
+				.isInstanceOf(OptimisticLockException.class);
+		assertThatThrownBy(() -> service.patch(UUID.randomUUID(), stale))
+				.isInstanceOf(EntityNotFoundException.class);
+	}
+
+	private static RestaurantRequest request(String name, String location) {
+		RestaurantRequest request = new RestaurantRequest();
+		request.setName(name);
+		request.setRating(3);
+		request.setLocation(location);
+		return request;
+	}
+}
@@ -0,0 +1,74 @@
+package ku.cs.restaurant;
+
+import ku.cs.restaurant.entity.Restaurant;
+import ku.cs.restaurant.service.RestaurantSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Typeahead queries against the in-memory index: prefixes spread over many
+ * tokens come back in name order and cut at the limit, and an update that
+ * arrives after a newer one is ignored. The index is used directly,
+ * without a database.
+ */
+class RestaurantSearchIndexTests {
+
+	private final RestaurantSearchIndex index = new RestaurantSearchIndex(null, null);
+
+	@Test
+	void shortPrefixReturnsTheFirstNamesUpToTheLimit() {
+		put("Bistro Banana", "Bangkok");
+		put("Apple Bakery", "Bern");
+		put("Cafe", "Berlin");
+		put("Diner", "Paris");
+		put("Burger Barn", "Boston");
+
+		List<Restaurant> found = index.search("b", 3);
+
+		// Bistro Banana and Burger Barn match on several tokens but appear once
+		assertThat(found).extracting(Restaurant::getName)
+				.containsExactly("Apple Bakery", "Bistro Banana", "Burger Barn");
+	}
+
+	@Test
+	void everyTokenMustMatch() {
+		put("Thai Garden", "Bangkok");
+		put("Thai Palace", "Chiang Mai");
+		put("Garden Grill", "Bangkok");
+
+		assertThat(index.search("thai ban", 10)).extracting(Restaurant::getName)
+				.containsExactly("Thai Garden");
+		assertThat(index.search("garden thai", 10)).extracting(Restaurant::getName)
+				.containsExactly("Thai Garden");
+		assertThat(index.search("bangkok g", 10)).extracting(Restaurant::getName)
+				.containsExactly("Garden Grill", "Thai Garden");
+	}
+
+	@Test
+	void olderVersionDoesNotReplaceNewer() {
+		Restaurant newer = put("Renamed", "Bangkok");
+		newer.setVersion(2);
+		index.put(newer);
+
+		Restaurant older = newer.copy();
+		older.setName("Original");
+		older.setVersion(1);
+		index.put(older);
+
+		assertThat(index.search("original", 10)).isEmpty();
+		assertThat(index.search("renamed", 10)).extracting(Restaurant::getVersion).containsExactly(2L);
+	}
+
+	private Restaurant put(String name, String location) {
+		Restaurant restaurant = new Restaurant();
+		restaurant.setId(UUID.randomUUID());
+		restaurant.setName(name);
+		restaurant.setLocation(location);
+		index.put(restaurant);
+		return restaurant;
+	}
+}
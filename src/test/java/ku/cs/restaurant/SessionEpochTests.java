@@ -0,0 +1,58 @@
+package ku.cs.restaurant;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * In the default stateful mode, logging out everywhere bumps the user's
+ * session epoch: every token issued before the bump is rejected even
+ * though its session is still registered in the token store.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SessionEpochTests {
+
+	private static final String USERNAME = "epochbump";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void bumpingTheEpochRejectsEarlierTokens() throws Exception {
+		mockMvc.perform(post("/api/auth/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + USERNAME + "\",\"password\":\"password123\",\"name\":\"Epoch\"}"))
+				.andExpect(status().isOk());
+		Cookie first = logIn();
+		Cookie second = logIn();
+		mockMvc.perform(get("/api/auth/me").cookie(second)).andExpect(status().isOk());
+
+		mockMvc.perform(post("/api/auth/logout-all").cookie(first)).andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/auth/me").cookie(first)).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/auth/me").cookie(second)).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/auth/me").cookie(logIn())).andExpect(status().isOk());
+	}
+
+	private Cookie logIn() throws Exception {
+		Cookie token = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + USERNAME + "\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getCookie("token");
+		assertThat(token).isNotNull();
+		return token;
+	}
+}
@@ -0,0 +1,108 @@
+package ku.cs.restaurant;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import ku.cs.restaurant.security.PrincipalCache;
+import ku.cs.restaurant.security.SessionEpochs;
+import ku.cs.restaurant.security.TokenStore;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With jwt.stateless the principal comes from the token's claims alone:
+ * no token store lookup and no user row read once the session epoch is
+ * cached. Logging out everywhere still revokes earlier tokens.
+ */
+@SpringBootTest(properties = {
+		"jwt.stateless=true",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatelessJwtTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Autowired
+	private SessionEpochs sessionEpochs;
+
+	@MockitoSpyBean
+	private TokenStore tokenStore;
+
+	@Test
+	void principalIsBuiltFromClaims() throws Exception {
+		Cookie token = signUpAndLogIn("statelessclaims", "Claims");
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// Warm the epoch cache, then drop the principal cache so a user lookup would show up
+		mockMvc.perform(get("/api/auth/me").cookie(token)).andExpect(status().isOk());
+		principalCache.invalidate("statelessclaims");
+		clearInvocations(tokenStore);
+		statistics.clear();
+
+		mockMvc.perform(get("/api/auth/me").cookie(token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.username").value("statelessclaims"))
+				.andExpect(jsonPath("$.name").value("Claims"))
+				.andExpect(jsonPath("$.role").value("ROLE_USER"));
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		verifyNoInteractions(tokenStore);
+	}
+
+	@Test
+	void logoutEverywhereRejectsEarlierTokens() throws Exception {
+		Cookie first = signUpAndLogIn("statelessepoch", "Epoch");
+		Cookie second = logIn("statelessepoch");
+
+		mockMvc.perform(post("/api/auth/logout-all").cookie(first)).andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/auth/me").cookie(first)).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/auth/me").cookie(second)).andExpect(status().isUnauthorized());
+
+		// Tokens issued after the bump carry the new epoch
+		sessionEpochs.invalidate("statelessepoch");
+		mockMvc.perform(get("/api/auth/me").cookie(logIn("statelessepoch"))).andExpect(status().isOk());
+	}
+
+	private Cookie signUpAndLogIn(String username, String name) throws Exception {
+		mockMvc.perform(post("/api/auth/signup")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + username + "\",\"password\":\"password123\",\"name\":\"" + name + "\"}"))
+				.andExpect(status().isOk());
+		return logIn(username);
+	}
+
+	private Cookie logIn(String username) throws Exception {
+		Cookie token = mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getCookie("token");
+		assertThat(token).isNotNull();
+		return token;
+	}
+}
@@ -0,0 +1,52 @@
+package ku.cs.restaurant.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes for one endpoint. Values are recorded in
+ * microseconds with three significant digits, up to one minute.
+ */
+final class EndpointStats {
+
+	private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(1);
+
+	private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_US, 3);
+	private final LongAdder conflicts = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+
+	void record(long latencyNanos, int status) {
+		latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_US));
+		if (status == 409)
+			conflicts.increment();
+		else if (status < 200 || status >= 400)
+			errors.increment();
+	}
+
+	long count() {
+		return latencies.getTotalCount();
+	}
+
+	long conflicts() {
+		return conflicts.sum();
+	}
+
+	long errors() {
+		return errors.sum();
+	}
+
+	double percentileMs(double percentile) {
+		return latencies.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	double maxMs() {
+		return latencies.getMaxValue() / 1000.0;
+	}
+
+	double meanMs() {
+		return latencies.getMean() / 1000.0;
+	}
+}
@@ -0,0 +1,53 @@
+package ku.cs.restaurant.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Load-test settings, read from {@code loadtest.*} system properties so a run
+ * can be tuned from the Maven command line.
+ *
+ * @param restaurants rows seeded through the batch endpoint before the run
+ * @param users       accounts signed up and logged in; workers share them round-robin
+ * @param workers     concurrent request loops
+ * @param warmup      time run before recording starts
+ * @param duration    recorded time
+ * @param rate        total requests per second; 0 runs closed-loop as fast as responses allow
+ * @param writeRatio  fraction of requests that create or patch a restaurant
+ * @param threadModes server thread models to run, one report each
+ * @param outputDir   where reports are written
+ */
+record LoadTestConfig(int restaurants, int users, int workers, Duration warmup, Duration duration,
+					  int rate, double writeRatio, List<ThreadMode> threadModes, Path outputDir) {
+
+	enum ThreadMode {
+		PLATFORM, VIRTUAL;
+
+		boolean virtual() {
+			return this == VIRTUAL;
+		}
+	}
+
+	static LoadTestConfig fromSystemProperties() {
+		String threads = System.getProperty("loadtest.threads", "platform");
+		List<ThreadMode> modes = "both".equalsIgnoreCase(threads)
+				? List.of(ThreadMode.PLATFORM, ThreadMode.VIRTUAL)
+				: List.of(ThreadMode.valueOf(threads.toUpperCase()));
+
+		LoadTestConfig config = new LoadTestConfig(
+				Integer.getInteger("loadtest.restaurants", 1000),
+				Integer.getInteger("loadtest.users", 20),
+				Integer.getInteger("loadtest.workers", 32),
+				Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10)),
+				Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30)),
+				Integer.getInteger("loadtest.rate", 0),
+				Double.parseDouble(System.getProperty("loadtest.write-ratio", "0.1")),
+				modes,
+				Path.of(System.getProperty("loadtest.output", "target/load-test")));
+		if (config.restaurants < 1 || config.users < 1 || config.workers < 1 || config.rate < 0
+				|| config.writeRatio < 0 || config.writeRatio > 1)
+			throw new IllegalArgumentException("Invalid load-test settings: " + config);
+		return config;
+	}
+}
@@ -0,0 +1,390 @@
+package ku.cs.restaurant.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import ku.cs.restaurant.RestaurantApplication;
+import ku.cs.restaurant.entity.User;
+import ku.cs.restaurant.loadtest.LoadTestConfig.ThreadMode;
+import ku.cs.restaurant.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end load generator. Boots the application under the {@code test}
+ * profile on a random plain-http port, signs up and logs in the configured
+ * users through the API, seeds restaurants through the batch endpoint, then
+ * runs a read/write mix against {@code /api/restaurants} and writes one JSON
+ * report per server thread model to the output directory.
+ *
+ * <p>With a target rate, each worker has a fixed schedule and latency is
+ * measured from the time a request was due rather than when it was sent, so
+ * a stalled server shows up in the percentiles instead of slowing the load.
+ *
+ * <p>The client runs in the same JVM as the server and competes with it for
+ * CPU, so compare reports taken on the same machine rather than reading the
+ * absolute numbers as production capacity.
+ *
+ * <p>Run with {@code mvn test -Dtest=RestaurantLoadTest -Dloadtest=true}
+ * and any of the {@code loadtest.*} properties in {@link LoadTestConfig}.
+ */
+public final class LoadTestHarness {
+
+	private static final String PASSWORD = "loadtest-password";
+	private static final String LOGIN = "POST /api/auth/login";
+
+	private final LoadTestConfig config;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private final AtomicLong nameSequence = new AtomicLong();
+
+	private Map<String, EndpointStats> stats;
+	private String baseUrl;
+	private List<String> cookies;
+	private List<String> restaurantIds;
+	private volatile long recordFrom;
+
+	public LoadTestHarness(LoadTestConfig config) {
+		this.config = config;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new LoadTestHarness(LoadTestConfig.fromSystemProperties()).run();
+	}
+
+	public List<Path> run() throws Exception {
+		List<Path> reports = new ArrayList<>();
+		for (ThreadMode mode : config.threadModes())
+			reports.add(run(mode));
+		return reports;
+	}
+
+	private Path run(ThreadMode mode) throws Exception {
+		stats = new ConcurrentHashMap<>();
+		try (ConfigurableApplicationContext context = start(mode)) {
+			baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+			cookies = createUsers(context.getBean(UserRepository.class));
+			restaurantIds = seedRestaurants();
+
+			Instant startedAt = Instant.now();
+			long elapsedNanos = drive();
+			Path report = writeReport(mode, startedAt, elapsedNanos);
+			System.out.println(summary(mode, elapsedNanos) + "Report: " + report.toAbsolutePath());
+			return report;
+		}
+	}
+
+	private ConfigurableApplicationContext start(ThreadMode mode) {
+		// Command-line arguments, so they take precedence over application.properties
+		return new SpringApplicationBuilder(RestaurantApplication.class)
+				.profiles("test")
+				.run("--server.port=0",
+						"--server.ssl.enabled=false",
+						"--spring.jpa.show-sql=false",
+						"--logging.level.root=WARN",
+						// Every worker shares a handful of accounts and one address
+						"--security.login-throttle.enabled=false",
+						"--security.rate-limit.enabled=false",
+						"--spring.threads.virtual.enabled=" + mode.virtual());
+	}
+
+	// Signs up every user over HTTP, promotes them so any worker may write,
+	// then logs each one in and keeps its token cookie
+	private List<String> createUsers(UserRepository userRepository) throws Exception {
+		for (int i = 0; i < config.users(); i++) {
+			ObjectNode signup = objectMapper.createObjectNode()
+					.put("username", username(i)).put("password", PASSWORD).put("name", "Loadtest");
+			expectOk(send(post("/api/auth/signup", signup.toString(), null)), "sign up " + username(i));
+
+			User user = userRepository.findByUsername(username(i));
+			user.setRole("ROLE_ADMIN");
+			userRepository.save(user);
+		}
+
+		List<String> tokens = new ArrayList<>();
+		EndpointStats login = stats.computeIfAbsent(LOGIN, key -> new EndpointStats());
+		for (int i = 0; i < config.users(); i++) {
+			ObjectNode body = objectMapper.createObjectNode().put("username", username(i)).put("password", PASSWORD);
+			long start = System.nanoTime();
+			HttpResponse<String> response = send(post("/api/auth/login", body.toString(), null));
+			login.record(System.nanoTime() - start, response.statusCode());
+			expectOk(response, "log in " + username(i));
+
+			// The cookie is Secure, so copy it by hand rather than through a cookie manager over http
+			String token = response.headers().allValues("Set-Cookie").stream()
+					.filter(cookie -> cookie.startsWith("token="))
+					.map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("No token cookie in login response"));
+			tokens.add(token);
+		}
+		return tokens;
+	}
+
+	private List<String> seedRestaurants() throws Exception {
+		StringBuilder ndjson = new StringBuilder(config.restaurants() * 120);
+		for (int i = 0; i < config.restaurants(); i++)
+			ndjson.append(restaurantJson("seed " + i, i)).append('\n');
+		HttpRequest importRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/restaurants/batch"))
+				.header("Content-Type", "application/x-ndjson")
+				.header("Cookie", cookies.get(0))
+				.POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+				.build();
+		expectOk(send(importRequest), "seed restaurants");
+
+		HttpResponse<String> export = send(get("/api/restaurants/export?format=ndjson", cookies.get(0)));
+		expectOk(export, "export restaurants");
+		List<String> ids = new ArrayList<>();
+		for (String line : export.body().split("\n"))
+			if (!line.isBlank())
+				ids.add(objectMapper.readTree(line).get("id").asText());
+		return ids;
+	}
+
+	// Runs warmup plus the recorded period; returns the recorded period's length
+	private long drive() throws Exception {
+		long start = System.nanoTime();
+		recordFrom = start + config.warmup().toNanos();
+		long end = recordFrom + config.duration().toNanos();
+		// Per worker, so the total across workers matches the target rate
+		long intervalNanos = config.rate() > 0 ? TimeUnit.SECONDS.toNanos(config.workers()) / config.rate() : 0;
+
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> running = new ArrayList<>();
+			for (int w = 0; w < config.workers(); w++) {
+				String cookie = cookies.get(w % cookies.size());
+				long offset = intervalNanos * w / config.workers();
+				running.add(workers.submit(() -> {
+					work(cookie, start + offset, intervalNanos, end);
+					return null;
+				}));
+			}
+			for (Future<?> worker : running)
+				worker.get();
+		}
+		return end - recordFrom;
+	}
+
+	private void work(String cookie, long firstDue, long intervalNanos, long end) throws Exception {
+		long due = firstDue;
+		while (true) {
+			long now = System.nanoTime();
+			if (intervalNanos > 0) {
+				if (due >= end)
+					return;
+				if (due > now)
+					TimeUnit.NANOSECONDS.sleep(due - now);
+			} else if (now >= end) {
+				return;
+			}
+			long start = intervalNanos > 0 ? due : System.nanoTime();
+
+			if (ThreadLocalRandom.current().nextDouble() < config.writeRatio())
+				write(cookie, start);
+			else
+				read(cookie, start);
+			due += intervalNanos;
+		}
+	}
+
+	private void read(String cookie, long start) throws Exception {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int pick = random.nextInt(100);
+		if (pick < 35) {
+			timed("GET /api/restaurants/{id}", start, get("/api/restaurants/" + randomId(), cookie));
+		} else if (pick < 60) {
+			int pages = Math.max(1, restaurantIds.size() / 20);
+			timed("GET /api/restaurants", start,
+					get("/api/restaurants?offset=" + random.nextInt(pages) + "&pageSize=20", cookie));
+		} else if (pick < 70) {
+			timed("GET /api/restaurants/scroll", start, get("/api/restaurants/scroll?pageSize=20", cookie));
+		} else if (pick < 82) {
+			timed("GET /api/restaurants/search", start,
+					get("/api/restaurants/search?q=seed+" + random.nextInt(restaurantIds.size()), cookie));
+		} else if (pick < 94) {
+			timed("GET /api/restaurants/nearby", start, get(String.format(Locale.ROOT,
+					"/api/restaurants/nearby?lat=%.4f&lon=%.4f&radius=2",
+					13.5 + random.nextDouble(0.5), 100.3 + random.nextDouble(0.5)), cookie));
+		} else {
+			String ids = random.ints(10, 0, restaurantIds.size())
+					.mapToObj(restaurantIds::get).collect(Collectors.joining(","));
+			timed("GET /api/restaurants?ids", start, get("/api/restaurants?ids=" + ids, cookie));
+		}
+	}
+
+	// Half creates; half read-then-patch with the version just read, where
+	// a 409 means another worker got there first
+	private void write(String cookie, long start) throws Exception {
+		if (ThreadLocalRandom.current().nextBoolean()) {
+			String body = restaurantJson("load " + nameSequence.incrementAndGet(), ThreadLocalRandom.current().nextInt(1000));
+			timed("POST /api/restaurants", start, post("/api/restaurants", body, cookie));
+			return;
+		}
+		String id = randomId();
+		HttpResponse<String> current = timed("GET /api/restaurants/{id}", start, get("/api/restaurants/" + id, cookie));
+		if (current.statusCode() != 200)
+			return;
+		ObjectNode patch = objectMapper.createObjectNode()
+				.put("version", objectMapper.readTree(current.body()).get("version").asLong())
+				.put("rating", 1 + ThreadLocalRandom.current().nextInt(5));
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/restaurants/" + id))
+				.header("Content-Type", "application/json")
+				.header("Cookie", cookie)
+				.method("PATCH", HttpRequest.BodyPublishers.ofString(patch.toString()))
+				.build();
+		timed("PATCH /api/restaurants/{id}", System.nanoTime(), request);
+	}
+
+	private HttpResponse<String> timed(String endpoint, long start, HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<String> response = send(request);
+		long end = System.nanoTime();
+		if (start >= recordFrom)
+			stats.computeIfAbsent(endpoint, key -> new EndpointStats()).record(end - start, response.statusCode());
+		return response;
+	}
+
+	private Path writeReport(ThreadMode mode, Instant startedAt, long elapsedNanos) throws IOException {
+		double seconds = elapsedNanos / 1e9;
+		ObjectNode report = objectMapper.createObjectNode();
+		report.put("commit", gitCommit());
+		report.put("startedAt", startedAt.toString());
+		report.put("threads", mode.name().toLowerCase());
+		report.put("javaVersion", Runtime.version().toString());
+		report.put("processors", Runtime.getRuntime().availableProcessors());
+		report.set("config", objectMapper.createObjectNode()
+				.put("restaurants", config.restaurants())
+				.put("users", config.users())
+				.put("workers", config.workers())
+				.put("warmupSeconds", config.warmup().toSeconds())
+				.put("durationSeconds", config.duration().toSeconds())
+				.put("rate", config.rate())
+				.put("writeRatio", config.writeRatio()));
+
+		long total = 0;
+		ArrayNode endpoints = report.putArray("endpoints");
+		for (Map.Entry<String, EndpointStats> entry : sortedStats()) {
+			EndpointStats endpoint = entry.getValue();
+			// Login happens once per user during setup, so it has no throughput
+			boolean setup = LOGIN.equals(entry.getKey());
+			if (!setup)
+				total += endpoint.count();
+			ObjectNode node = endpoints.addObject()
+					.put("endpoint", entry.getKey())
+					.put("count", endpoint.count())
+					.put("errors", endpoint.errors())
+					.put("conflicts", endpoint.conflicts())
+					.put("meanMs", endpoint.meanMs())
+					.put("p50Ms", endpoint.percentileMs(50))
+					.put("p99Ms", endpoint.percentileMs(99))
+					.put("p999Ms", endpoint.percentileMs(99.9))
+					.put("maxMs", endpoint.maxMs());
+			if (!setup)
+				node.put("throughputPerSecond", endpoint.count() / seconds);
+		}
+		report.put("totalRequests", total);
+		report.put("throughputPerSecond", total / seconds);
+
+		Files.createDirectories(config.outputDir());
+		Path file = config.outputDir().resolve(String.format("load-%s-%s-%s.json",
+				startedAt.toString().replace(":", "").replaceAll("\\.\\d+", ""),
+				report.get("commit").asText(), mode.name().toLowerCase()));
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+		return file;
+	}
+
+	private String summary(ThreadMode mode, long elapsedNanos) {
+		double seconds = elapsedNanos / 1e9;
+		StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+				"%nLoad test (%s threads, %d workers, %.0fs)%n%-32s %9s %8s %7s %9s %9s %9s %9s%n",
+				mode.name().toLowerCase(), config.workers(), seconds,
+				"endpoint", "req/s", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+		for (Map.Entry<String, EndpointStats> entry : sortedStats()) {
+			EndpointStats endpoint = entry.getValue();
+			double throughput = LOGIN.equals(entry.getKey()) ? 0 : endpoint.count() / seconds;
+			text.append(String.format(Locale.ROOT, "%-32s %9.1f %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+					entry.getKey(), throughput, endpoint.count(), endpoint.errors(),
+					endpoint.percentileMs(50), endpoint.percentileMs(99), endpoint.percentileMs(99.9), endpoint.maxMs()));
+		}
+		return text.toString();
+	}
+
+	private List<Map.Entry<String, EndpointStats>> sortedStats() {
+		return stats.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList();
+	}
+
+	private String restaurantJson(String name, int i) {
+		return objectMapper.createObjectNode()
+				.put("name", name)
+				.put("rating", 1 + i % 5)
+				.put("location", "Zone " + i % 50)
+				.put("latitude", 13.5 + (i % 100) * 0.005)
+				.put("longitude", 100.3 + (i / 100 % 100) * 0.005)
+				.toString();
+	}
+
+	private String randomId() {
+		return restaurantIds.get(ThreadLocalRandom.current().nextInt(restaurantIds.size()));
+	}
+
+	private static String username(int i) {
+		return "loaduser" + i;
+	}
+
+	private HttpRequest get(String path, String cookie) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Cookie", cookie).GET().build();
+	}
+
+	private HttpRequest post(String path, String json, String cookie) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json));
+		if (cookie != null)
+			builder.header("Cookie", cookie);
+		return builder.build();
+	}
+
+	private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+		return client.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static void expectOk(HttpResponse<String> response, String action) {
+		if (response.statusCode() != 200)
+			throw new IllegalStateException("Could not " + action + ": " + response.statusCode() + " " + response.body());
+	}
+
+	// Short commit id so reports from different commits can be told apart
+	private static String gitCommit() {
+		try {
+			Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+			String commit = new String(git.getInputStream().readAllBytes()).trim();
+			return git.waitFor() == 0 && !commit.isEmpty() ? commit : "unknown";
+		} catch (IOException e) {
+			return "unknown";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "unknown";
+		}
+	}
+}
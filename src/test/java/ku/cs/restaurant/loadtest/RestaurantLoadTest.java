@@ -0,0 +1,25 @@
+package ku.cs.restaurant.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Maven entry point for {@link LoadTestHarness}; skipped unless asked for:
+ * <pre>
+ * mvn test -Dtest=RestaurantLoadTest -Dloadtest=true -Dloadtest.duration=60 -Dloadtest.threads=both
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class RestaurantLoadTest {
+
+	@Test
+	void runLoadTest() throws Exception {
+		for (Path report : new LoadTestHarness(LoadTestConfig.fromSystemProperties()).run())
+			assertThat(Files.size(report)).isPositive();
+	}
+}